@@ -0,0 +1,50 @@
+package sch.sudoku.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puzzle corpora bundled with the benchmarks: one grid of 81 characters per line, {@code .} or {@code 0} for an
+ * empty cell and {@code #} starting a comment line. Corpora whose name starts with {@code diagonal} use the
+ * diagonal rules.
+ */
+final class Corpus {
+
+    private Corpus() {
+    }
+
+    static boolean isDiagonal(String name) {
+        return name.startsWith("diagonal");
+    }
+
+    static List<Integer[]> load(String name) {
+        List<Integer[]> grids = new ArrayList<>();
+        try (InputStream in = Corpus.class.getResourceAsStream("/corpus/" + name + ".txt")) {
+            if (null == in) {
+                throw new IllegalArgumentException("unknown corpus: " + name);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+            for (String line = reader.readLine(); null != line; line = reader.readLine()) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                Integer[] grid = new Integer[81];
+                for (int i = 0; i < 81; i++) {
+                    char c = line.charAt(i);
+                    grid[i] = '.' == c || '0' == c ? null : c - '0';
+                }
+                grids.add(grid);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return grids;
+    }
+}
@@ -0,0 +1,85 @@
+package sch.sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sch.sudoku.model.Block;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Value;
+import sch.sudoku.model.View;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro benchmarks of the model operations on the solver's hot path, measured on the first grid of the
+ * {@code states} corpus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModelBenchmark {
+
+    private Integer[] grid;
+    private Model model;
+    private View row;
+    private Block block;
+    private int emptyCell;
+    private int emptyCellCandidate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        grid = Corpus.load("states").get(0);
+        model = Model.builder().model(grid).build();
+        row = model.getViews().get(0);
+        block = (Block) model.getViews().stream().filter(Block.class::isInstance).skip(4).findFirst().get();
+        emptyCell = 0;
+        while (0 != model.getDigit(emptyCell)) {
+            emptyCell++;
+        }
+        emptyCellCandidate = Integer.numberOfTrailingZeros(model.getCandidates(emptyCell));
+    }
+
+    @Benchmark
+    public Model build() {
+        return Model.builder().model(grid).build();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return row.isValid();
+    }
+
+    @Benchmark
+    public List<? extends Number> getMissingNumbers() {
+        return row.getMissingNumbers();
+    }
+
+    @Benchmark
+    public Value setAndUndo() {
+        model.set(emptyCell, emptyCellCandidate);
+        return model.undo();
+    }
+
+    @Benchmark
+    public int setAndRollback() {
+        int depth = model.getDepth();
+        model.set(emptyCell, emptyCellCandidate);
+        model.rollback(depth);
+        return model.getDepth();
+    }
+
+    @Benchmark
+    public int toViewIndex() {
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += block.toViewIndex(block.getModelIndex(i));
+        }
+        return sum;
+    }
+}
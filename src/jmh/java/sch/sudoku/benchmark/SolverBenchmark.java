@@ -0,0 +1,67 @@
+package sch.sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import sch.sudoku.model.Model;
+import sch.sudoku.solver.DancingLinksSolver;
+import sch.sudoku.solver.ModelSolver;
+import sch.sudoku.solver.ParallelSolver;
+import sch.sudoku.solver.Solver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Solves every grid of a corpus per operation with each of the solving engines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SolverBenchmark {
+
+    public enum Engine {
+        BACKTRACKING(Solver::new),
+        PROPAGATION(Solver::propagating),
+        DANCING_LINKS(DancingLinksSolver::new),
+        PARALLEL(() -> ParallelSolver.builder().build());
+
+        private final Supplier<ModelSolver> factory;
+
+        Engine(Supplier<ModelSolver> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({"states", "easy", "medium", "hard", "extreme", "diagonal"})
+    private String corpus;
+
+    @Param({"BACKTRACKING", "PROPAGATION", "DANCING_LINKS", "PARALLEL"})
+    private Engine engine;
+
+    private List<Integer[]> grids;
+    private ModelSolver solver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        grids = Corpus.load(corpus);
+        solver = engine.factory.get();
+    }
+
+    @Benchmark
+    public void solveModel(Blackhole blackhole) {
+        for (Integer[] grid : grids) {
+            Model model = Model.builder().model(grid).diagonals(Corpus.isDiagonal(corpus)).build();
+            solver.solveModel(model);
+            blackhole.consume(model);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package sch.sudoku.cli;
+
+import sch.sudoku.io.GridReader;
+import sch.sudoku.io.GridWriter;
+import sch.sudoku.io.PackedGridStore;
+import sch.sudoku.io.PackedGridWriter;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+import sch.sudoku.model.View;
+import sch.sudoku.solver.ModelSolver;
+import sch.sudoku.solver.Solutions;
+import sch.sudoku.solver.Solver;
+import sch.sudoku.solver.UnsolvableException;
+import sch.sudoku.validator.GridValidator;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line entry point for short lived batch runs, one process per file:
+ * <pre>
+ * sudoku solve    [options] [input [output]]   solves each grid, unsolvable ones are written unchanged
+ * sudoku validate [options] [input [output]]   prints solved, incomplete or invalid and the unit per grid
+ * sudoku count    [options] [input [output]]   prints the number of solutions per grid, at most --limit
+ * sudoku convert  --to packed|text [options] input [output]
+ *
+ * options: --block WxH (default 3x3), --diagonals, --limit N (default 2), --solved (pack without the last row and
+ *          column, for solved grids only)
+ * </pre>
+ * Grids are read and written in the one line format of {@link GridReader}; {@code -} or a missing name stands for
+ * stdin and stdout, packed files (see {@link PackedGridStore}) have to be named. The exit code is {@code 0} on
+ * success, {@code 1} if a grid could not be solved or is invalid and {@code 2} on bad arguments or I/O errors.
+ * <p>
+ * The path from start to first solution deliberately avoids lambdas, streams, string formatting and the caching
+ * solver, so the JVM loads few classes beyond the ones actually solving; together with the class data sharing
+ * archive of the distribution a single puzzle took about 105 ms on JDK 17, of which about 70 ms are the JVM's own
+ * startup.
+ */
+public final class Main {
+    static final int OK = 0;
+    static final int FAILED = 1;
+    static final int ERROR = 2;
+
+    private static final String STDIO = "-";
+    private static final String USAGE = "usage: sudoku solve|validate|count [options] [input [output]]\n"
+            + "       sudoku convert --to packed|text [options] input [output]\n"
+            + "options: --block WxH, --diagonals, --limit N, --solved";
+
+    private final InputStream in;
+    private final OutputStream out;
+    private final PrintStream err;
+
+    private String command;
+    private int blockWidth = 3;
+    private int blockHeight = 3;
+    private boolean diagonals;
+    private long limit = 2;
+    private String to;
+    private boolean solved;
+    private final List<String> files = new ArrayList<>();
+
+    private Main(InputStream in, OutputStream out, PrintStream err) {
+        this.in = in;
+        this.out = out;
+        this.err = err;
+    }
+
+    public static void main(String[] args) {
+        int status = run(args, System.in, System.out, System.err);
+        System.out.flush();
+        if (OK != status) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Runs one command; the streams are used for {@code -} and missing names and are not closed.
+     *
+     * @return the exit code
+     */
+    static int run(String[] args, InputStream in, OutputStream out, PrintStream err) {
+        Main main = new Main(in, out, err);
+        try {
+            main.parse(args);
+            return main.execute();
+        } catch (IllegalArgumentException e) {
+            err.println("sudoku: " + e.getMessage());
+            err.println(USAGE);
+            return ERROR;
+        } catch (IOException e) {
+            err.println("sudoku: " + e.getMessage());
+            return ERROR;
+        }
+    }
+
+    private void parse(String[] args) {
+        if (0 == args.length) {
+            throw new IllegalArgumentException("command missing");
+        }
+        command = args[0];
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if ("--diagonals".equals(arg)) {
+                diagonals = true;
+            } else if ("--solved".equals(arg)) {
+                solved = true;
+            } else if ("--block".equals(arg)) {
+                String block = value(args, ++i, arg);
+                int x = block.indexOf('x');
+                if (x < 0) {
+                    throw new IllegalArgumentException("--block: " + block);
+                }
+                blockWidth = number(block.substring(0, x), arg);
+                blockHeight = number(block.substring(x + 1), arg);
+            } else if ("--limit".equals(arg)) {
+                limit = number(value(args, ++i, arg), arg);
+            } else if ("--to".equals(arg)) {
+                to = value(args, ++i, arg);
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("unknown option: " + arg);
+            } else {
+                files.add(arg);
+            }
+        }
+        if (files.size() > 2) {
+            throw new IllegalArgumentException("too many files: " + files);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("--limit: " + limit);
+        }
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(option + ": value missing");
+        }
+        return args[i];
+    }
+
+    private static int number(String value, String option) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + ": " + value);
+        }
+    }
+
+    private int execute() throws IOException {
+        if ("solve".equals(command)) {
+            return solve(topology());
+        } else if ("validate".equals(command)) {
+            return validate(topology());
+        } else if ("count".equals(command)) {
+            return count(topology());
+        } else if ("convert".equals(command)) {
+            if ("packed".equals(to)) {
+                return pack(topology());
+            } else if ("text".equals(to)) {
+                return unpack();
+            }
+            throw new IllegalArgumentException("--to: " + to);
+        }
+        throw new IllegalArgumentException("unknown command: " + command);
+    }
+
+    private Topology topology() {
+        return Topology.of(blockWidth, blockHeight, diagonals);
+    }
+
+    private int solve(Topology topology) throws IOException {
+        ModelSolver solver = Solver.propagating();
+        Model model = Model.empty(topology);
+        byte[] grid = new byte[topology.getCellCount()];
+        int status = OK;
+        try (GridReader reader = reader(); GridWriter writer = writer()) {
+            for (long ordinal = 1; reader.read(grid); ordinal++) {
+                model.load(grid);
+                try {
+                    solver.solveModel(model);
+                    model.copyTo(grid);
+                } catch (UnsolvableException e) {
+                    err.println("grid " + ordinal + ": no solution");
+                    status = FAILED;
+                }
+                writer.write(grid);
+            }
+        }
+        return status;
+    }
+
+    private int validate(Topology topology) throws IOException {
+        Model model = Model.empty(topology);
+        GridValidator validator = GridValidator.scalar(topology);
+        byte[] grid = new byte[topology.getCellCount()];
+        int status = OK;
+        try (GridReader reader = reader(); PrintStream printer = printer()) {
+            while (reader.read(grid)) {
+                model.load(grid);
+                int unit = model.isSolved() ? -1 : firstInvalidUnit(model, validator, grid);
+                if (unit >= 0) {
+                    printer.println("invalid " + describe(topology, unit));
+                    status = FAILED;
+                } else {
+                    printer.println(model.isSolved() ? "solved" : "incomplete");
+                }
+            }
+        }
+        return status;
+    }
+
+    private static int firstInvalidUnit(Model model, GridValidator validator, byte[] grid) {
+        if (isComplete(grid)) {
+            return validator.firstInvalidUnit(grid);
+        }
+        List<? extends View> views = model.getViews();
+        for (int unit = 0; unit < views.size(); unit++) {
+            if (!views.get(unit).isValid()) {
+                return unit;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isComplete(byte[] grid) {
+        for (byte digit : grid) {
+            if (0 == digit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the unit as its kind and number counted from one, e.g. {@code row 3}
+     */
+    static String describe(Topology topology, int unit) {
+        int size = topology.getSize();
+        int diagonals = topology.isDiagonals() ? 2 : 0;
+        if (unit < size) {
+            return "row " + (unit + 1);
+        } else if (unit < 2 * size) {
+            return "column " + (unit - size + 1);
+        } else if (unit < 3 * size) {
+            return "block " + (unit - 2 * size + 1);
+        } else if (unit < 3 * size + diagonals) {
+            return "diagonal " + (unit - 3 * size + 1);
+        }
+        return "region " + (unit - 3 * size - diagonals + 1);
+    }
+
+    private int count(Topology topology) throws IOException {
+        Model model = Model.empty(topology);
+        byte[] grid = new byte[topology.getCellCount()];
+        int status = OK;
+        try (GridReader reader = reader(); PrintStream printer = printer()) {
+            while (reader.read(grid)) {
+                model.load(grid);
+                long count = model.isValid() ? Solutions.count(model, limit) : 0;
+                if (0 == count) {
+                    status = FAILED;
+                }
+                printer.println(count);
+            }
+        }
+        return status;
+    }
+
+    private int pack(Topology topology) throws IOException {
+        byte[] grid = new byte[topology.getCellCount()];
+        try (GridReader reader = reader();
+             PackedGridWriter writer = PackedGridWriter.create(file(1, "packed output"), topology, solved)) {
+            while (reader.read(grid)) {
+                writer.write(grid);
+            }
+        }
+        return OK;
+    }
+
+    private int unpack() throws IOException {
+        try (PackedGridStore store = PackedGridStore.open(file(0, "packed input")); GridWriter writer = writer()) {
+            byte[] grid = new byte[store.getTopology().getCellCount()];
+            for (long ordinal = 0; ordinal < store.getCount(); ordinal++) {
+                store.read(ordinal, grid);
+                writer.write(grid);
+            }
+        }
+        return OK;
+    }
+
+    private Path file(int i, String name) {
+        if (files.size() <= i || STDIO.equals(files.get(i))) {
+            throw new IllegalArgumentException(name + " has to be a file");
+        }
+        return Paths.get(files.get(i));
+    }
+
+    private boolean isStdio(int i) {
+        return files.size() <= i || STDIO.equals(files.get(i));
+    }
+
+    private GridReader reader() throws IOException {
+        return isStdio(0) ? new GridReader(Channels.newChannel(new UnclosedInput(in))) : GridReader.open(file(0, "input"));
+    }
+
+    private GridWriter writer() throws IOException {
+        return isStdio(1) ? new GridWriter(Channels.newChannel(new UnclosedOutput(out))) : GridWriter.create(file(1, "output"));
+    }
+
+    private PrintStream printer() throws IOException {
+        OutputStream stream = isStdio(1) ? new UnclosedOutput(out) : Files.newOutputStream(file(1, "output"));
+        return new PrintStream(new BufferedOutputStream(stream, 1 << 16), false, "US-ASCII");
+    }
+
+    /**
+     * Keeps stdin open when the reader is closed.
+     */
+    private static final class UnclosedInput extends FilterInputStream {
+        UnclosedInput(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Keeps stdout open when the writer is closed, flushing it instead.
+     */
+    private static final class UnclosedOutput extends FilterOutputStream {
+        UnclosedOutput(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package sch.sudoku.cli;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Training run for the class data sharing archive of the distribution: runs every command of {@link Main} once in
+ * this process, on files and on stdin, so the JVM dumping the archive at exit has loaded all classes a command
+ * needs. The output is discarded.
+ */
+public final class Training {
+    private static final String GRIDS = "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......\n"
+            + "003020600900305001001806400008102900700000008006708200002609500800203009005010300\n"
+            + "483921657967345821251876493548132976729564138136798245372689514814253769695417382\n"
+            + "11...............................................................................\n";
+
+    private Training() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path grids = Files.createTempFile("training", ".txt");
+        Path packed = Files.createTempFile("training", ".bin");
+        try {
+            Files.write(grids, GRIDS.getBytes(StandardCharsets.US_ASCII));
+            OutputStream out = new OutputStream() {
+                @Override
+                public void write(int b) {
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                }
+            };
+            PrintStream err = new PrintStream(out);
+            run(new String[] {"solve"}, out, err);
+            run(new String[] {"solve", grids.toString()}, out, err);
+            run(new String[] {"validate", grids.toString()}, out, err);
+            run(new String[] {"count", grids.toString()}, out, err);
+            run(new String[] {"convert", "--to", "packed", grids.toString(), packed.toString()}, out, err);
+            run(new String[] {"convert", "--to", "text", packed.toString()}, out, err);
+            run(new String[] {"help"}, out, err);
+        } finally {
+            Files.delete(grids);
+            Files.delete(packed);
+        }
+    }
+
+    private static void run(String[] args, OutputStream out, PrintStream err) {
+        InputStream in = new ByteArrayInputStream(GRIDS.getBytes(StandardCharsets.US_ASCII));
+        Main.run(args, in, out, err);
+    }
+}
@@ -0,0 +1,28 @@
+package sch.sudoku.generator;
+
+import lombok.Getter;
+
+/**
+ * Difficulty bands measured by the number of guesses the propagating solver needs on top of naked and hidden
+ * singles.
+ */
+@Getter
+public enum Difficulty {
+    /** naked and hidden singles solve the puzzle */
+    EASY(0, 0),
+    MEDIUM(1, 2),
+    HARD(3, 9),
+    EXTREME(10, Long.MAX_VALUE);
+
+    private final long minGuesses;
+    private final long maxGuesses;
+
+    Difficulty(long minGuesses, long maxGuesses) {
+        this.minGuesses = minGuesses;
+        this.maxGuesses = maxGuesses;
+    }
+
+    public boolean contains(long guesses) {
+        return minGuesses <= guesses && guesses <= maxGuesses;
+    }
+}
@@ -0,0 +1,209 @@
+package sch.sudoku.generator;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+import sch.sudoku.solver.SolveMetrics;
+import sch.sudoku.solver.Solutions;
+import sch.sudoku.solver.Solver;
+import sch.sudoku.solver.UnsolvableException;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates puzzles with exactly one solution. Each puzzle starts from a randomly filled grid whose clues are
+ * removed in random order as long as the solution stays unique, until {@code clues} are left or, without a clue
+ * count, no clue can be removed any more. Grids outside the requested {@link Difficulty} are dropped and
+ * generated anew.
+ * <p>
+ * Puzzle {@code i} only depends on {@code seed} and {@code i}, so {@link #generate(int)} returns the same puzzles
+ * however many threads of the pool take part.
+ */
+@Getter
+public class Generator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int DEFAULT_ATTEMPTS = 1000;
+
+    private final Topology topology;
+    private final long seed;
+    private final int clues;
+    private final Difficulty difficulty;
+    private final int attempts;
+    private final ForkJoinPool pool;
+
+    @Getter(AccessLevel.NONE)
+    private final ThreadLocal<Model> models;
+    @Getter(AccessLevel.NONE)
+    private final ThreadLocal<SolveMetrics> metrics = ThreadLocal.withInitial(SolveMetrics::new);
+
+    @Builder
+    Generator(Topology topology, boolean diagonals, long seed, int clues, Difficulty difficulty, int attempts,
+              ForkJoinPool pool) {
+        this.topology = null == topology ? Topology.of(diagonals) : topology;
+        if (clues < 0 || this.topology.getCellCount() < clues) {
+            throw new IllegalArgumentException("clues: " + clues);
+        }
+        this.seed = seed;
+        this.clues = clues;
+        this.difficulty = difficulty;
+        this.attempts = attempts > 0 ? attempts : DEFAULT_ATTEMPTS;
+        this.pool = null == pool ? ForkJoinPool.commonPool() : pool;
+        this.models = ThreadLocal.withInitial(() -> Model.empty(this.topology));
+    }
+
+    /**
+     * @return the first {@code count} puzzles, generated in parallel on the pool
+     */
+    public List<byte[]> generate(int count) {
+        return pool.submit(() -> LongStream.range(0, count).parallel().mapToObj(this::getPuzzle)
+                .collect(Collectors.toList())).join();
+    }
+
+    /**
+     * @return all puzzles in index order; generated lazily and split across threads if made parallel
+     */
+    public Stream<byte[]> stream() {
+        return LongStream.range(0, Long.MAX_VALUE).mapToObj(this::getPuzzle);
+    }
+
+    /**
+     * @return puzzle number {@code index} as a grid with {@code 0} for an empty cell
+     * @throws IllegalStateException if no puzzle fitting clue count and difficulty was found in {@code attempts}
+     */
+    public byte[] getPuzzle(long index) {
+        SplittableRandom random = new SplittableRandom(seed + index * GOLDEN_GAMMA);
+        Model model = models.get();
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            byte[] puzzle = dig(model, fill(model, random), random);
+            if (null != puzzle && fits(model, puzzle)) {
+                return puzzle;
+            }
+        }
+        throw new IllegalStateException("No puzzle found in " + attempts + " attempts.");
+    }
+
+    private byte[] fill(Model model, SplittableRandom random) {
+        model.load(new byte[topology.getCellCount()]);
+        if (!fillFrom(model, random)) {
+            throw new UnsolvableException();
+        }
+        byte[] grid = new byte[topology.getCellCount()];
+        model.copyTo(grid);
+        return grid;
+    }
+
+    private boolean fillFrom(Model model, SplittableRandom random) {
+        int cell = -1;
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < topology.getCellCount() && best > 1; i++) {
+            int count = 0 == model.getDigit(i) ? Integer.bitCount(model.getCandidates(i)) : Integer.MAX_VALUE;
+            if (count < best) {
+                cell = i;
+                best = count;
+            }
+        }
+        if (cell < 0) {
+            return true;
+        }
+        int mark = model.getDepth();
+        for (int candidates = model.getCandidates(cell); 0 != candidates; ) {
+            int digit = nthBit(candidates, random.nextInt(Integer.bitCount(candidates)));
+            candidates &= ~(1 << digit);
+            model.set(cell, digit);
+            if (fillFrom(model, random)) {
+                return true;
+            }
+            model.rollback(mark);
+        }
+        return false;
+    }
+
+    private static int nthBit(int mask, int n) {
+        for (int i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return Integer.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Removes clues in random order while the solution stays unique.
+     *
+     * @return the puzzle or {@code null} if the requested clue count could not be reached
+     */
+    private byte[] dig(Model model, byte[] grid, SplittableRandom random) {
+        int[] cells = new int[grid.length];
+        for (int i = 0; i < cells.length; i++) {
+            int j = random.nextInt(i + 1);
+            cells[i] = cells[j];
+            cells[j] = i;
+        }
+        int left = grid.length;
+        for (int i = 0; i < cells.length && left > clues; i++) {
+            byte digit = grid[cells[i]];
+            grid[cells[i]] = 0;
+            model.load(grid);
+            if (isForced(model, cells[i], digit) || !hasOtherSolution(model, cells[i], digit)) {
+                left--;
+            } else {
+                grid[cells[i]] = digit;
+            }
+        }
+        return 0 == clues || left == clues ? grid : null;
+    }
+
+    /**
+     * A removed clue that is a naked or hidden single of the remaining clues keeps the solution unique without
+     * a search.
+     */
+    private boolean isForced(Model model, int cell, int digit) {
+        if (1 << digit == model.getCandidates(cell)) {
+            return true;
+        }
+        for (int i = 0; i < topology.getUnitCount(cell); i++) {
+            int unit = topology.getUnit(cell, i);
+            boolean hidden = true;
+            for (int j = 0; j < topology.getSize() && hidden; j++) {
+                int other = topology.getCell(unit, j);
+                hidden = other == cell || 0 == (model.getCandidates(other) & 1 << digit);
+            }
+            if (hidden) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The grid without the removed clue still has the old solution, so it is unique unless placing another
+     * candidate in the cell leads to a solution too; finding one such solution is much cheaper than counting.
+     */
+    private static boolean hasOtherSolution(Model model, int cell, int digit) {
+        int mark = model.getDepth();
+        for (int others = model.getCandidates(cell) & ~(1 << digit); 0 != others; others &= others - 1) {
+            model.set(cell, Integer.numberOfTrailingZeros(others));
+            long solutions = Solutions.count(model, 1);
+            model.rollback(mark);
+            if (0 != solutions) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean fits(Model model, byte[] puzzle) {
+        if (null == difficulty) {
+            return true;
+        }
+        SolveMetrics solveMetrics = metrics.get();
+        model.load(puzzle);
+        Solver.propagating().solveModel(model, solveMetrics);
+        return difficulty.contains(solveMetrics.getGuesses());
+    }
+}
@@ -0,0 +1,57 @@
+package sch.sudoku.io;
+
+import sch.sudoku.solver.BatchSolver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * File to file solving: reads chunks of grids into reused buffers, solves each chunk on a {@link BatchSolver} and
+ * writes the solutions in input order. Grids without a solution are written back unchanged.
+ */
+public class GridPipeline {
+    private static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final BatchSolver batchSolver;
+    private final int chunkSize;
+
+    public GridPipeline(BatchSolver batchSolver) {
+        this(batchSolver, DEFAULT_CHUNK_SIZE);
+    }
+
+    public GridPipeline(BatchSolver batchSolver, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize: " + chunkSize);
+        }
+        this.batchSolver = batchSolver;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return the number of grids that were solved
+     */
+    public long solve(Path input, Path output) throws IOException {
+        byte[][] chunk = new byte[chunkSize][batchSolver.getTopology().getCellCount()];
+        long solved = 0;
+        try (GridReader reader = GridReader.open(input); GridWriter writer = GridWriter.create(output)) {
+            int size;
+            do {
+                size = 0;
+                while (size < chunkSize && reader.read(chunk[size])) {
+                    size++;
+                }
+                List<byte[]> solutions = batchSolver.solveAll(Arrays.asList(chunk).subList(0, size));
+                for (int i = 0; i < size; i++) {
+                    byte[] solution = solutions.get(i);
+                    if (null != solution) {
+                        solved++;
+                    }
+                    writer.write(null == solution ? chunk[i] : solution);
+                }
+            } while (size == chunkSize);
+        }
+        return solved;
+    }
+}
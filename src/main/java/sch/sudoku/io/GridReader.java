@@ -0,0 +1,124 @@
+package sch.sudoku.io;
+
+import sch.sudoku.model.Topology;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads grids in the one line format: one character per cell, {@code 1}-{@code 9} and then {@code A}-{@code P} for
+ * a digit and {@code .} or {@code 0} for an empty cell. Empty lines and lines starting with {@code #} are skipped.
+ * The channel is read through one direct buffer and each grid is decoded straight into the caller's array, whose
+ * length gives the number of cells per line, so no objects are created per line.
+ */
+public class GridReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long lineNumber = 1;
+
+    public static GridReader open(Path path) throws IOException {
+        return new GridReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * @return a reader of grids held in memory, e.g. the body of a request, that reads them in place
+     */
+    public static GridReader of(byte[] content) {
+        return new GridReader(Channels.newChannel(new ByteArrayInputStream(new byte[0])), ByteBuffer.wrap(content));
+    }
+
+    public GridReader(ReadableByteChannel channel) {
+        this(channel, (ByteBuffer) ByteBuffer.allocateDirect(BUFFER_SIZE).flip());
+    }
+
+    private GridReader(ReadableByteChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Decodes the next grid into {@code grid}.
+     *
+     * @return {@code false} at the end of the input
+     */
+    public boolean read(byte[] grid) throws IOException {
+        int cells = 0;
+        while (true) {
+            int c = next();
+            if (c < 0) {
+                return 0 != cells && complete(grid, cells, lineNumber);
+            }
+            if ('\n' == c) {
+                lineNumber++;
+                if (0 != cells) {
+                    return complete(grid, cells, lineNumber - 1);
+                }
+            } else if ('\r' != c) {
+                if (0 == cells && '#' == c) {
+                    skipLine();
+                } else if (grid.length == cells) {
+                    throw new IOException("Line " + lineNumber + " is longer than " + grid.length + " cells.");
+                } else {
+                    grid[cells++] = decode(c, grid.length);
+                }
+            }
+        }
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    private boolean complete(byte[] grid, int cells, long line) throws IOException {
+        if (grid.length != cells) {
+            throw new IOException("Line " + line + " has " + cells + " cells instead of " + grid.length + ".");
+        }
+        return true;
+    }
+
+    private byte decode(int c, int cells) throws IOException {
+        if ('.' == c) {
+            return 0;
+        }
+        int digit = Topology.toDigit((char) c);
+        if (0 <= digit && digit * digit <= cells) {
+            return (byte) digit;
+        }
+        throw new IOException("Invalid character '" + (char) c + "' in line " + lineNumber + ".");
+    }
+
+    private void skipLine() throws IOException {
+        for (int c = next(); c >= 0; c = next()) {
+            if ('\n' == c) {
+                lineNumber++;
+                return;
+            }
+        }
+    }
+
+    private int next() throws IOException {
+        while (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0 || 0 == buffer.capacity()) {
+                return -1;
+            }
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
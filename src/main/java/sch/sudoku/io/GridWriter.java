@@ -0,0 +1,63 @@
+package sch.sudoku.io;
+
+import sch.sudoku.model.Topology;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes grids in the one line format read by {@link GridReader}, using {@code .} for empty cells.
+ */
+public class GridWriter implements Closeable, Flushable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    public static GridWriter create(Path path) throws IOException {
+        return new GridWriter(FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    public GridWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public void write(byte[] grid) throws IOException {
+        if (buffer.remaining() <= grid.length) {
+            flushBuffer();
+        }
+        for (byte digit : grid) {
+            buffer.put(0 == digit ? (byte) '.' : (byte) Topology.toChar(digit));
+        }
+        buffer.put((byte) '\n');
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package sch.sudoku.io;
+
+import sch.sudoku.model.Topology;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.stream.IntStream;
+
+/**
+ * Layout of the packed grid format shared by {@link PackedGridWriter} and {@link PackedGridStore}.
+ * <p>
+ * A 32 byte big endian header: magic {@code SDKP}, format version, flags (bit 0 diagonals, bit 1 solved), block
+ * width and height, the number of grids as a long and the size of a record in bytes. The records follow, all of the
+ * same size so the offset of a grid is computed from its ordinal. A record holds the cells row by row with the fewest
+ * bits that fit the digits, 4 for 9x9 (41 bytes), most significant bit first. Solved grids leave out the last row
+ * and column as each of their cells is the digit missing from its column or row (32 bytes for 9x9).
+ */
+final class PackedFormat {
+    static final int MAGIC = 'S' << 24 | 'D' << 16 | 'K' << 8 | 'P';
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int COUNT_OFFSET = 8;
+
+    private static final int DIAGONALS = 1;
+    private static final int SOLVED = 2;
+
+    private final Topology topology;
+    private final boolean solved;
+    private final int bits;
+    private final int[] cells;
+    private final int recordSize;
+
+    PackedFormat(Topology topology, boolean solved) {
+        if (topology.hasConstraints()) {
+            throw new IllegalArgumentException("topology: " + topology);
+        }
+        this.topology = topology;
+        this.solved = solved;
+        int size = topology.getSize();
+        bits = 32 - Integer.numberOfLeadingZeros(size);
+        int last = size - 1;
+        cells = IntStream.range(0, topology.getCellCount())
+                .filter(cell -> !solved || cell / size != last && cell % size != last)
+                .toArray();
+        recordSize = (cells.length * bits + 7) / 8;
+    }
+
+    static PackedFormat readHeader(ByteBuffer header) throws IOException {
+        if (header.remaining() < HEADER_SIZE || MAGIC != header.getInt(0)) {
+            throw new IOException("Not a packed grid file.");
+        }
+        if (VERSION != header.get(4)) {
+            throw new IOException("Unsupported packed grid version: " + header.get(4));
+        }
+        int flags = header.get(5);
+        Topology topology;
+        try {
+            topology = Topology.of(header.get(6), header.get(7), 0 != (flags & DIAGONALS));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid packed grid header: " + e.getMessage(), e);
+        }
+        PackedFormat format = new PackedFormat(topology, 0 != (flags & SOLVED));
+        if (format.recordSize != header.getInt(16)) {
+            throw new IOException("Invalid packed grid record size: " + header.getInt(16));
+        }
+        return format;
+    }
+
+    void writeHeader(ByteBuffer header, long count) {
+        header.putInt(0, MAGIC);
+        header.put(4, (byte) VERSION);
+        header.put(5, (byte) ((topology.isDiagonals() ? DIAGONALS : 0) | (solved ? SOLVED : 0)));
+        header.put(6, (byte) topology.getBlockWidth());
+        header.put(7, (byte) topology.getBlockHeight());
+        header.putLong(COUNT_OFFSET, count);
+        header.putInt(16, recordSize);
+    }
+
+    Topology getTopology() {
+        return topology;
+    }
+
+    boolean isSolved() {
+        return solved;
+    }
+
+    int getRecordSize() {
+        return recordSize;
+    }
+
+    void encode(byte[] grid, ByteBuffer buffer) {
+        int pending = 0;
+        int count = 0;
+        for (int cell : cells) {
+            pending = pending << bits | grid[cell];
+            count += bits;
+            if (count >= 8) {
+                count -= 8;
+                buffer.put((byte) (pending >>> count));
+            }
+        }
+        if (count > 0) {
+            buffer.put((byte) (pending << 8 - count));
+        }
+    }
+
+    /**
+     * Decodes the record at {@code position} with absolute reads, so the buffer can be shared between threads.
+     */
+    void decode(ByteBuffer buffer, int position, byte[] grid) {
+        int mask = (1 << bits) - 1;
+        int pending = 0;
+        int count = 0;
+        for (int cell : cells) {
+            if (count < bits) {
+                pending = pending << 8 | buffer.get(position++) & 0xFF;
+                count += 8;
+            }
+            count -= bits;
+            grid[cell] = (byte) (pending >>> count & mask);
+        }
+        if (solved) {
+            complete(grid);
+        }
+    }
+
+    private void complete(byte[] grid) {
+        int size = topology.getSize();
+        int last = size - 1;
+        for (int row = 0; row < last; row++) {
+            int used = 0;
+            for (int column = 0; column < last; column++) {
+                used |= 1 << grid[row * size + column];
+            }
+            grid[row * size + last] = missing(used);
+        }
+        for (int column = 0; column < size; column++) {
+            int used = 0;
+            for (int row = 0; row < last; row++) {
+                used |= 1 << grid[row * size + column];
+            }
+            grid[last * size + column] = missing(used);
+        }
+    }
+
+    private byte missing(int used) {
+        return (byte) Integer.numberOfTrailingZeros(topology.getAllDigits() & ~used);
+    }
+}
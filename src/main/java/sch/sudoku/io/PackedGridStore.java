@@ -0,0 +1,116 @@
+package sch.sudoku.io;
+
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Random access to a file of grids in the packed format written by {@link PackedGridWriter}. The file is memory
+ * mapped in segments of up to 1 GiB, each holding whole records, so a grid is decoded straight from the page cache by
+ * its ordinal without reading the rest of the file. Reads are safe for concurrent use.
+ */
+public class PackedGridStore implements Closeable {
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final PackedFormat format;
+    private final long count;
+    private final long recordsPerSegment;
+    private final MappedByteBuffer[] segments;
+
+    public static PackedGridStore open(Path path) throws IOException {
+        return new PackedGridStore(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    public PackedGridStore(FileChannel channel) throws IOException {
+        this.channel = channel;
+        try {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(PackedFormat.HEADER_SIZE, channel.size()));
+            format = PackedFormat.readHeader(header);
+            count = header.getLong(PackedFormat.COUNT_OFFSET);
+            int recordSize = format.getRecordSize();
+            if (count < 0 || channel.size() < PackedFormat.HEADER_SIZE + count * recordSize) {
+                throw new IOException("Packed grid file is truncated: " + count + " grids expected.");
+            }
+            recordsPerSegment = SEGMENT_SIZE / recordSize;
+            segments = new MappedByteBuffer[(int) ((count + recordsPerSegment - 1) / recordsPerSegment)];
+            for (int i = 0; i < segments.length; i++) {
+                long first = i * recordsPerSegment;
+                long records = Math.min(recordsPerSegment, count - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        PackedFormat.HEADER_SIZE + first * recordSize, records * recordSize);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Topology getTopology() {
+        return format.getTopology();
+    }
+
+    /**
+     * @return whether the store holds solved grids only
+     */
+    public boolean isSolved() {
+        return format.isSolved();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Decodes the grid with the given ordinal into {@code grid}, {@code 0} standing for an empty cell.
+     */
+    public void read(long ordinal, byte[] grid) {
+        if (ordinal < 0 || count <= ordinal) {
+            throw new IllegalArgumentException("ordinal: " + ordinal);
+        }
+        int cells = format.getTopology().getCellCount();
+        if (Objects.requireNonNull(grid, "grid is null").length != cells) {
+            throw new IllegalArgumentException("grid size doesn't fit to expectation: " + cells);
+        }
+        format.decode(segments[(int) (ordinal / recordsPerSegment)],
+                (int) (ordinal % recordsPerSegment) * format.getRecordSize(), grid);
+    }
+
+    /**
+     * Loads the grid with the given ordinal into {@code model}, which must have the topology of the store.
+     */
+    public void load(long ordinal, Model model) {
+        if (!format.getTopology().equals(model.getTopology())) {
+            throw new IllegalArgumentException("model topology: " + model.getTopology());
+        }
+        byte[] grid = new byte[format.getTopology().getCellCount()];
+        read(ordinal, grid);
+        model.load(grid);
+    }
+
+    /**
+     * @return a new model holding the grid with the given ordinal
+     */
+    public Model getModel(long ordinal) {
+        Model model = Model.empty(format.getTopology());
+        load(ordinal, model);
+        return model;
+    }
+
+    /**
+     * Closes the file; the mappings are released once the buffers are garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
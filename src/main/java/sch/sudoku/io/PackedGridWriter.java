@@ -0,0 +1,92 @@
+package sch.sudoku.io;
+
+import sch.sudoku.model.Topology;
+import sch.sudoku.validator.GridValidator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Writes grids in the packed format read by {@link PackedGridStore}. The number of grids is written into the
+ * header on {@link #close()}.
+ */
+public class PackedGridWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final PackedFormat format;
+    private final GridValidator validator;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long count;
+
+    /**
+     * @param solved whether all grids are solutions, which are stored without their last row and column
+     */
+    public static PackedGridWriter create(Path path, Topology topology, boolean solved) throws IOException {
+        return new PackedGridWriter(FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+                topology, solved);
+    }
+
+    public PackedGridWriter(FileChannel channel, Topology topology, boolean solved) throws IOException {
+        this.channel = channel;
+        this.format = new PackedFormat(Objects.requireNonNull(topology, "topology is null"), solved);
+        this.validator = solved ? GridValidator.scalar(topology) : null;
+        buffer.put(new byte[PackedFormat.HEADER_SIZE]);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the grid doesn't fit the topology or, for a store of solved grids, is not
+     *                                  a valid solution
+     */
+    public void write(byte[] grid) throws IOException {
+        int cells = format.getTopology().getCellCount();
+        if (Objects.requireNonNull(grid, "grid is null").length != cells) {
+            throw new IllegalArgumentException("grid size doesn't fit to expectation: " + cells);
+        }
+        for (byte digit : grid) {
+            if (digit < 0 || format.getTopology().getSize() < digit) {
+                throw new IllegalArgumentException("Invalid value in grid: " + digit);
+            }
+        }
+        if (null != validator && validator.firstInvalidUnit(grid) >= 0) {
+            throw new IllegalArgumentException("The grid is not solved.");
+        }
+        if (buffer.remaining() < format.getRecordSize()) {
+            flushBuffer();
+        }
+        format.encode(grid, buffer);
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+            ByteBuffer header = ByteBuffer.allocate(PackedFormat.HEADER_SIZE);
+            format.writeHeader(header, count);
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package sch.sudoku.model;
+
+/**
+ * A 9x9 grid in the canonical form found by {@link Canonicalizer} together with the symmetry that maps the
+ * original grid onto it: an optional transposition, a row and a column order and a relabelling of the digits.
+ */
+public final class CanonicalForm {
+    private final byte[] grid;
+    private final boolean diagonals;
+    private final boolean transposed;
+    private final int[] rows;
+    private final int[] columns;
+    private final byte[] labels;
+    private final byte[] digits = new byte[10];
+
+    CanonicalForm(byte[] grid, boolean diagonals, boolean transposed, int[] rows, int[] columns, byte[] labels) {
+        this.grid = grid;
+        this.diagonals = diagonals;
+        this.transposed = transposed;
+        this.rows = rows;
+        this.columns = columns;
+        this.labels = labels;
+        for (int digit = 0; digit < 10; digit++) {
+            digits[labels[digit]] = (byte) digit;
+        }
+    }
+
+    /**
+     * @return the canonical grid; equal for all grids that are symmetric to each other
+     */
+    public byte[] getGrid() {
+        return grid.clone();
+    }
+
+    public boolean isDiagonals() {
+        return diagonals;
+    }
+
+    /**
+     * @return the canonical grid as a string usable as a map key, distinct for classic and diagonal grids
+     */
+    public String getKey() {
+        char[] key = new char[82];
+        key[0] = diagonals ? 'X' : '+';
+        for (int i = 0; i < 81; i++) {
+            key[i + 1] = (char) ('0' + grid[i]);
+        }
+        return new String(key);
+    }
+
+    /**
+     * Applies the symmetry to another grid, e.g. the solution of the original grid.
+     */
+    public byte[] toCanonical(byte[] original) {
+        byte[] canonical = new byte[81];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                canonical[9 * i + j] = labels[original[indexOf(rows[i], columns[j])]];
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Applies the inverse symmetry, e.g. to map the solution of the canonical grid back to the original grid.
+     */
+    public byte[] fromCanonical(byte[] canonical) {
+        byte[] original = new byte[81];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                original[indexOf(rows[i], columns[j])] = digits[canonical[9 * i + j]];
+            }
+        }
+        return original;
+    }
+
+    private int indexOf(int row, int column) {
+        return transposed ? 9 * column + row : 9 * row + column;
+    }
+}
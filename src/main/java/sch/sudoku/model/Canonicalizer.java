@@ -0,0 +1,464 @@
+package sch.sudoku.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Maps a valid 9x9 grid to the lexicographically smallest grid, read row by row with {@code 0} for an empty
+ * cell, that any symmetry of its variant turns it into. Digits are relabelled in order of first appearance.
+ * <p>
+ * Classic grids can be transposed and have their bands, stacks and the rows and columns within them permuted.
+ * The search fixes transposition and first row and then picks the remaining rows greedily, branching only on
+ * ties and pruning against the best grid so far. Stacks and the columns within them are ordered lazily: those that
+ * are alike in all rows so far stay interchangeable, only the order of digits seen for the first time in a row is
+ * branched on.
+ * <p>
+ * Diagonal grids only allow the 96 symmetries that map the diagonals onto each other: the same band preserving
+ * permutation of rows and columns that commutes with reversal, transposition and column reversal. These are
+ * tried one by one.
+ */
+public final class Canonicalizer {
+    private static final byte FRESH = 10;
+    private static final int[][] PERMUTATIONS = {
+            {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}
+    };
+    private static final int[][] SWAPS = {{0, 1}, {1, 0}};
+    private static final int[][] DIAGONAL_ROWS = new int[48][9];
+    private static final int[][] DIAGONAL_COLUMNS = new int[48][9];
+    private static final ThreadLocal<Search> SEARCHES = ThreadLocal.withInitial(Search::new);
+
+    static {
+        int n = 0;
+        for (int[] outer : PERMUTATIONS) {
+            for (int swapBands = 0; swapBands < 2; swapBands++) {
+                for (int swapMiddle = 0; swapMiddle < 2; swapMiddle++) {
+                    int[] order = new int[9];
+                    for (int i = 0; i < 3; i++) {
+                        order[i] = 6 * swapBands + outer[i];
+                        order[8 - i] = 8 - order[i];
+                    }
+                    order[3] = 3 + 2 * swapMiddle;
+                    order[4] = 4;
+                    order[5] = 8 - order[3];
+                    for (int reverse = 0; reverse < 2; reverse++) {
+                        DIAGONAL_ROWS[n] = order;
+                        for (int j = 0; j < 9; j++) {
+                            DIAGONAL_COLUMNS[n][j] = order[0 == reverse ? j : 8 - j];
+                        }
+                        n++;
+                    }
+                }
+            }
+        }
+    }
+
+    private Canonicalizer() {
+    }
+
+    /**
+     * @param grid      81 digits, {@code 0} for an empty cell, without duplicates in any unit
+     * @param diagonals whether only the symmetries of a diagonal grid apply
+     */
+    public static CanonicalForm canonicalize(byte[] grid, boolean diagonals) {
+        if (Objects.requireNonNull(grid, "grid is null").length != 81) {
+            throw new IllegalArgumentException("grid size doesn't fit to expectation: 81");
+        }
+        Search search = SEARCHES.get();
+        search.reset(grid);
+        if (diagonals) {
+            search.diagonals();
+        } else {
+            search.classic();
+        }
+        return new CanonicalForm(search.best, diagonals, search.bestTransposed, search.bestRows,
+                search.bestColumns, search.bestLabels);
+    }
+
+    private static final class Search {
+        private byte[] grid;
+
+        private boolean transposed;
+        private final int[] rows = new int[9];
+        private final int[][] columns = new int[10][9];
+        private final int[] starts = new int[10];
+        private final int[] stackStarts = new int[10];
+        private final byte[][] labels = new byte[10][10];
+        private final int[] nextLabels = new int[10];
+        private final byte[] current = new byte[81];
+
+        private final int[][] candidateRows = new int[9][9];
+        private final int[][][] candidateColumns = new int[9][9][9];
+        private final int[][] candidateStarts = new int[9][9];
+        private final int[][] candidateGroups = new int[9][9];
+        private final int[][] candidateGroupCells = new int[9][9];
+        private final int[][] candidateStackStarts = new int[9][9];
+        private final int[][] candidateStackGroups = new int[9][9];
+        private final byte[][][] candidateValues = new byte[9][9][9];
+
+        private final int[] rowDigits = new int[9];
+        private final int[] segmentColumns = new int[9];
+        private final byte[] segmentValues = new byte[9];
+        private final int[] localStarts = new int[3];
+        private final int[] localGroups = new int[3];
+        private final int[] localGroupCells = new int[3];
+        private final int[] order = new int[3];
+
+        private byte[] best;
+        private boolean bestTransposed;
+        private int[] bestRows;
+        private int[] bestColumns;
+        private byte[] bestLabels;
+
+        void reset(byte[] grid) {
+            this.grid = grid;
+            best = null;
+        }
+
+        private int get(boolean transposed, int row, int column) {
+            return transposed ? grid[9 * column + row] : grid[9 * row + column];
+        }
+
+        void classic() {
+            int minimum = Integer.MAX_VALUE;
+            for (int t = 0; t < 2; t++) {
+                for (int row = 0; row < 9; row++) {
+                    minimum = Math.min(minimum, minimalPattern(1 == t, row));
+                }
+            }
+            for (int t = 0; t < 2; t++) {
+                transposed = 1 == t;
+                for (int row = 0; row < 9; row++) {
+                    if (minimum == minimalPattern(transposed, row)) {
+                        for (int i = 0; i < 9; i++) {
+                            columns[0][i] = i;
+                        }
+                        starts[0] = 1 | 1 << 3 | 1 << 6;
+                        stackStarts[0] = 1;
+                        nextLabels[0] = 1;
+                        search(0, row, 0, 0);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the smallest pattern of filled cells, bit {@code 8 - j} for column {@code j}, the row can be
+         * given by a column order; as the digits of a valid row are relabelled to 1, 2, 3... the first row of the
+         * canonical grid is the smallest of these patterns
+         */
+        private int minimalPattern(boolean transposed, int row) {
+            int[] filled = new int[3];
+            for (int column = 0; column < 9; column++) {
+                filled[column / 3] += 0 == get(transposed, row, column) ? 0 : 1;
+            }
+            Arrays.sort(filled);
+            int pattern = 0;
+            for (int count : filled) {
+                pattern = pattern << 3 | (1 << count) - 1;
+            }
+            return pattern;
+        }
+
+        /**
+         * Chooses the row at position {@code k} among the unused rows that keep the bands together. The column
+         * order is an ordered partition of the stacks and, within each stack, of its columns: stacks or columns in
+         * the same part have been alike in all rows so far and can still be swapped, so each row only sorts them
+         * within their parts.
+         */
+        private void search(int k, int firstRow, int usedRows, int usedBands) {
+            if (9 == k) {
+                if (null == best || compare(current, best, 81) < 0) {
+                    record();
+                }
+                return;
+            }
+            int count = 0;
+            int minimum = -1;
+            for (int row = 0; row < 9; row++) {
+                boolean allowed = 0 == k ? row == firstRow
+                        : 0 == (usedRows & 1 << row)
+                        && (0 == k % 3 ? 0 == (usedBands & 1 << row / 3) : row / 3 == rows[k - 1] / 3);
+                if (allowed) {
+                    sortColumns(k, row, count);
+                    if (minimum < 0 || compareRows(candidateValues[k][count], candidateValues[k][minimum]) < 0) {
+                        minimum = count;
+                    }
+                    count++;
+                }
+            }
+            if (null != best) {
+                int prefix = compare(current, best, 9 * k);
+                if (prefix > 0 || 0 == prefix && compare(candidateValues[k][minimum], 0, best, 9 * k, 9) > 0) {
+                    return;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                if (0 == compareRows(candidateValues[k][i], candidateValues[k][minimum])) {
+                    int row = candidateRows[k][i];
+                    System.arraycopy(candidateValues[k][i], 0, current, 9 * k, 9);
+                    System.arraycopy(candidateColumns[k][i], 0, columns[k + 1], 0, 9);
+                    rows[k] = row;
+                    permuteColumns(k, i, candidateGroups[k][i], firstRow, usedRows | 1 << row,
+                            usedBands | 1 << row / 3);
+                }
+            }
+        }
+
+        /**
+         * Sorts the columns within each part by the row: empty cells, then digits already labelled in ascending
+         * order, then digits seen for the first time, which get the next labels in any order. Then sorts the
+         * stacks within each part the same way.
+         */
+        private void sortColumns(int k, int row, int slot) {
+            int[] in = columns[k];
+            byte[] rowLabels = labels[k];
+            Arrays.fill(localStarts, 0);
+            Arrays.fill(localGroups, 0);
+            Arrays.fill(localGroupCells, 0);
+            for (int j = 0; j < 9; j++) {
+                rowDigits[j] = get(transposed, row, in[j]);
+            }
+            for (int a = 0; a < 9; ) {
+                int b = a + 1;
+                while (b < 9 && 0 == (starts[k] & 1 << b)) {
+                    b++;
+                }
+                int stack = a / 3;
+                int p = a;
+                for (int j = a; j < b; j++) {
+                    if (0 == rowDigits[j]) {
+                        segmentColumns[p] = in[j];
+                        segmentValues[p++] = 0;
+                    }
+                }
+                if (p > a) {
+                    localStarts[stack] |= 1 << a % 3;
+                }
+                int labelled = p;
+                for (int j = a; j < b; j++) {
+                    int label = rowLabels[rowDigits[j]];
+                    if (0 != label) {
+                        int q = p++;
+                        for (; q > labelled && segmentValues[q - 1] > label; q--) {
+                            segmentColumns[q] = segmentColumns[q - 1];
+                            segmentValues[q] = segmentValues[q - 1];
+                        }
+                        segmentColumns[q] = in[j];
+                        segmentValues[q] = (byte) label;
+                    }
+                }
+                int fresh = p;
+                for (int j = a; j < b; j++) {
+                    int digit = rowDigits[j];
+                    if (0 != digit && 0 == rowLabels[digit]) {
+                        segmentColumns[p] = in[j];
+                        segmentValues[p++] = FRESH;
+                    }
+                }
+                for (int q = labelled; q < p; q++) {
+                    localStarts[stack] |= 1 << q % 3;
+                }
+                if (p - fresh > 1) {
+                    localGroups[stack] |= 1 << fresh % 3;
+                    for (int q = fresh; q < p; q++) {
+                        localGroupCells[stack] |= 1 << q % 3;
+                    }
+                }
+                a = b;
+            }
+
+            for (int i = 0; i < 3; i++) {
+                order[i] = i;
+            }
+            for (int i = 1; i < 3; i++) {
+                for (int j = i; 0 == (stackStarts[k] & 1 << j) && compareStacks(order[j - 1], order[j]) > 0; j--) {
+                    int stack = order[j];
+                    order[j] = order[j - 1];
+                    order[j - 1] = stack;
+                }
+            }
+
+            int[] out = candidateColumns[k][slot];
+            byte[] values = candidateValues[k][slot];
+            int outStarts = 0;
+            int groups = 0;
+            int groupCells = 0;
+            int next = nextLabels[k];
+            for (int position = 0; position < 3; position++) {
+                int stack = order[position];
+                for (int i = 0; i < 3; i++) {
+                    byte value = segmentValues[3 * stack + i];
+                    out[3 * position + i] = segmentColumns[3 * stack + i];
+                    values[3 * position + i] = FRESH == value ? (byte) next++ : value;
+                }
+                outStarts |= localStarts[stack] << 3 * position;
+                groups |= localGroups[stack] << 3 * position;
+                groupCells |= localGroupCells[stack] << 3 * position;
+            }
+
+            int outStackStarts = 1;
+            int stackGroups = 0;
+            for (int position = 1; position < 3; position++) {
+                if (0 != (stackStarts[k] & 1 << position) || 0 != compareStacks(order[position - 1], order[position])) {
+                    outStackStarts |= 1 << position;
+                } else if (hasFresh(order[position])) {
+                    outStackStarts |= 1 << position;
+                    stackGroups |= 3 << position - 1;
+                }
+            }
+            candidateRows[k][slot] = row;
+            candidateStarts[k][slot] = outStarts;
+            candidateGroups[k][slot] = groups;
+            candidateGroupCells[k][slot] = groupCells;
+            candidateStackStarts[k][slot] = outStackStarts;
+            candidateStackGroups[k][slot] = stackGroups;
+        }
+
+        private int compareStacks(int a, int b) {
+            return compare(segmentValues, 3 * a, segmentValues, 3 * b, 3);
+        }
+
+        private boolean hasFresh(int stack) {
+            return FRESH == segmentValues[3 * stack + 2];
+        }
+
+        /**
+         * Tries every order of the columns holding digits new in row {@code k}, as the order decides their labels.
+         */
+        private void permuteColumns(int k, int slot, int groups, int firstRow, int usedRows, int usedBands) {
+            if (0 == groups) {
+                permuteStacks(k, slot, candidateStackGroups[k][slot], firstRow, usedRows, usedBands);
+                return;
+            }
+            int start = Integer.numberOfTrailingZeros(groups);
+            int end = start + 1;
+            while (0 != end % 3 && 0 == (groups & 1 << end) && 0 != (candidateGroupCells[k][slot] & 1 << end)) {
+                end++;
+            }
+            permute(columns[k + 1], start, end, 1,
+                    () -> permuteColumns(k, slot, groups & groups - 1, firstRow, usedRows, usedBands));
+        }
+
+        /**
+         * Tries every order of the stacks that are alike but hold digits new in row {@code k}; with three stacks
+         * there is at most one such run.
+         */
+        private void permuteStacks(int k, int slot, int groups, int firstRow, int usedRows, int usedBands) {
+            if (0 == groups) {
+                starts[k + 1] = candidateStarts[k][slot];
+                stackStarts[k + 1] = candidateStackStarts[k][slot];
+                System.arraycopy(labels[k], 0, labels[k + 1], 0, 10);
+                int next = nextLabels[k];
+                for (int j = 0; j < 9; j++) {
+                    int digit = get(transposed, rows[k], columns[k + 1][j]);
+                    if (0 != digit && 0 == labels[k + 1][digit]) {
+                        labels[k + 1][digit] = (byte) next++;
+                    }
+                }
+                nextLabels[k + 1] = next;
+                search(k + 1, firstRow, usedRows, usedBands);
+                return;
+            }
+            int start = Integer.numberOfTrailingZeros(groups);
+            int end = 32 - Integer.numberOfLeadingZeros(groups);
+            permute(columns[k + 1], start, end, 3, () -> permuteStacks(k, slot, 0, firstRow, usedRows, usedBands));
+        }
+
+        /**
+         * Runs {@code body} for every order of the blocks of {@code width} entries at block positions {@code start}
+         * until {@code end}, restoring the array afterwards.
+         */
+        private static void permute(int[] array, int start, int end, int width, Runnable body) {
+            if (end - start < 2) {
+                body.run();
+                return;
+            }
+            for (int i = start; i < end; i++) {
+                swap(array, start, i, width);
+                permute(array, start + 1, end, width, body);
+                swap(array, start, i, width);
+            }
+        }
+
+        private static void swap(int[] array, int a, int b, int width) {
+            for (int j = 0; j < width && a != b; j++) {
+                int value = array[a * width + j];
+                array[a * width + j] = array[b * width + j];
+                array[b * width + j] = value;
+            }
+        }
+
+        private static int compareRows(byte[] a, byte[] b) {
+            return compare(a, 0, b, 0, 9);
+        }
+
+        private static int compare(byte[] a, int from, byte[] b, int bFrom, int length) {
+            for (int j = 0; j < length; j++) {
+                if (a[from + j] != b[bFrom + j]) {
+                    return Integer.compare(a[from + j], b[bFrom + j]);
+                }
+            }
+            return 0;
+        }
+
+        private static int compare(byte[] a, byte[] b, int length) {
+            for (int i = 0; i < length; i++) {
+                if (a[i] != b[i]) {
+                    return Integer.compare(a[i], b[i]);
+                }
+            }
+            return 0;
+        }
+
+        private void record() {
+            best = current.clone();
+            bestTransposed = transposed;
+            bestRows = rows.clone();
+            bestColumns = columns[9].clone();
+            bestLabels = complete(labels[9], nextLabels[9]);
+        }
+
+        void diagonals() {
+            byte[] rowLabels = new byte[10];
+            for (int t = 0; t < 2; t++) {
+                for (int n = 0; n < DIAGONAL_ROWS.length; n++) {
+                    int[] order = DIAGONAL_ROWS[n];
+                    int[] columnOrder = DIAGONAL_COLUMNS[n];
+                    Arrays.fill(rowLabels, (byte) 0);
+                    int next = 1;
+                    int c = null == best ? -1 : 0;
+                    for (int i = 0; i < 81 && c <= 0; i++) {
+                        int digit = get(1 == t, order[i / 9], columnOrder[i % 9]);
+                        if (0 != digit && 0 == rowLabels[digit]) {
+                            rowLabels[digit] = (byte) next++;
+                        }
+                        current[i] = rowLabels[digit];
+                        if (0 == c) {
+                            c = Integer.compare(current[i], best[i]);
+                        }
+                    }
+                    if (c < 0) {
+                        best = current.clone();
+                        bestTransposed = 1 == t;
+                        bestRows = order;
+                        bestColumns = columnOrder;
+                        bestLabels = complete(rowLabels, next);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Gives the digits missing from the grid the remaining labels in ascending order.
+         */
+        private static byte[] complete(byte[] labels, int next) {
+            byte[] complete = labels.clone();
+            for (int digit = 1; digit < 10; digit++) {
+                if (0 == complete[digit]) {
+                    complete[digit] = (byte) next++;
+                }
+            }
+            return complete;
+        }
+    }
+}
@@ -12,20 +12,8 @@ public class Column extends View {
 
     @Builder
     Column(Model model, int columnIndex) {
-        super(model);
+        super(model, model.getTopology().getColumnUnit(columnIndex));
         this.columnIndex = columnIndex;
     }
 
-    @Override
-    protected int toModelIndex(int rowIndex) {
-        int modelIndex = getColumnIndex() - getStartIndex() + (rowIndex - getStartIndex()) * 9;
-        return modelIndex;
-    }
-
-    @Override
-    public int toViewIndex(int modelIndex) {
-        int rowIndex = (modelIndex - getColumnIndex() + getStartIndex()) / 9 + getStartIndex();
-        return rowIndex;
-    }
-
 }
@@ -0,0 +1,152 @@
+package sch.sudoku.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Variant rules on top of rows, columns, blocks and diagonals, compiled by {@link Topology#with(Constraints)} into
+ * the same lookup tables: extra regions become units, the cells of a cage and pairs of related cells become peers,
+ * and cage sums restrict the candidates through precomputed digit combinations.
+ * <ul>
+ * <li>a region is an additional all-different unit of {@code size} cells, e.g. the four windows of Windoku or the
+ * pieces of a jigsaw overlay;</li>
+ * <li>a cage (Killer) is a set of at most {@code size} cells holding distinct digits that add up to its sum;</li>
+ * <li>a relation forbids two cells to hold the same digit; anti-knight and anti-king add one for every pair of cells
+ * a chess knight or king move apart.</li>
+ * </ul>
+ */
+public final class Constraints {
+    public static final Constraints NONE = builder().build();
+
+    private final List<int[]> regions;
+    private final List<int[]> cages;
+    private final List<int[]> relations;
+    private final boolean windoku;
+    private final boolean antiKnight;
+    private final boolean antiKing;
+
+    private Constraints(Builder builder) {
+        regions = Collections.unmodifiableList(new ArrayList<>(builder.regions));
+        cages = Collections.unmodifiableList(new ArrayList<>(builder.cages));
+        relations = Collections.unmodifiableList(new ArrayList<>(builder.relations));
+        windoku = builder.windoku;
+        antiKnight = builder.antiKnight;
+        antiKing = builder.antiKing;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isEmpty() {
+        return regions.isEmpty() && cages.isEmpty() && relations.isEmpty() && !windoku && !antiKnight && !antiKing;
+    }
+
+    List<int[]> getRegions() {
+        return regions;
+    }
+
+    /**
+     * @return cages as the sum followed by the cells
+     */
+    List<int[]> getCages() {
+        return cages;
+    }
+
+    List<int[]> getRelations() {
+        return relations;
+    }
+
+    boolean isWindoku() {
+        return windoku;
+    }
+
+    boolean isAntiKnight() {
+        return antiKnight;
+    }
+
+    boolean isAntiKing() {
+        return antiKing;
+    }
+
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        if (windoku) {
+            parts.add("windoku");
+        }
+        if (!regions.isEmpty()) {
+            parts.add(regions.size() + " regions");
+        }
+        if (!cages.isEmpty()) {
+            parts.add(cages.size() + " cages");
+        }
+        if (antiKnight) {
+            parts.add("anti-knight");
+        }
+        if (antiKing) {
+            parts.add("anti-king");
+        }
+        if (!relations.isEmpty()) {
+            parts.add(relations.size() + " relations");
+        }
+        return String.join(", ", parts);
+    }
+
+    public static final class Builder {
+        private final List<int[]> regions = new ArrayList<>();
+        private final List<int[]> cages = new ArrayList<>();
+        private final List<int[]> relations = new ArrayList<>();
+        private boolean windoku;
+        private boolean antiKnight;
+        private boolean antiKing;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds an all-different unit; the cells are checked against the topology when compiled.
+         */
+        public Builder region(int... cells) {
+            regions.add(cells.clone());
+            return this;
+        }
+
+        /**
+         * Adds the windows of Windoku: one extra region per block that fits between the blocks, offset by one
+         * cell from the border and from each other.
+         */
+        public Builder windoku() {
+            windoku = true;
+            return this;
+        }
+
+        public Builder cage(int sum, int... cells) {
+            int[] cage = new int[1 + cells.length];
+            cage[0] = sum;
+            System.arraycopy(cells, 0, cage, 1, cells.length);
+            cages.add(cage);
+            return this;
+        }
+
+        public Builder relation(int cell, int other) {
+            relations.add(new int[] {cell, other});
+            return this;
+        }
+
+        public Builder antiKnight() {
+            antiKnight = true;
+            return this;
+        }
+
+        public Builder antiKing() {
+            antiKing = true;
+            return this;
+        }
+
+        public Constraints build() {
+            return new Constraints(this);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package sch.sudoku.model;
+
+import java.util.Arrays;
+
+/**
+ * Primitive state of a {@link Model}: the cell values plus per unit digit counts and "used digit" masks
+ * (bit {@code d} stands for digit {@code d}), all updated incrementally on every write, and the undo trail. Each
+ * trail entry packs cell, unit, old and new value into one {@code long}. Cages keep digit counts and masks the same
+ * way; peers outside the cell's units (see {@link Topology#with(Constraints)}) are checked cell by cell. The
+ * Zobrist hash of the cells is kept up to date the same way.
+ */
+final class Grid {
+    private final int allDigits;
+    private final int digits;
+    private final byte[] cells;
+    private final Topology topology;
+    private final int[][] cellUnits;
+    private final int[][] extraPeers;
+
+    private final int[] counts;
+    private final int[] usedMasks;
+    private final int[] unitFilled;
+    private final int[] unitConflicts;
+    private final int[] cageCounts;
+    private final int[] cageMasks;
+    private final boolean[] cageInfeasible;
+    private final boolean constrained;
+    private final long[] zobristKeys;
+
+    private int filled;
+    private int conflicts;
+    private long hash;
+
+    private long[] trail = new long[128];
+    private int depth;
+
+    Grid(Topology topology) {
+        this.topology = topology;
+        allDigits = topology.getAllDigits();
+        digits = topology.getSize() + 1;
+        cells = new byte[topology.getCellCount()];
+        cellUnits = new int[cells.length][];
+        extraPeers = new int[cells.length][];
+        for (int cell = 0; cell < cells.length; cell++) {
+            cellUnits[cell] = topology.cellUnits(cell);
+            extraPeers[cell] = topology.extraPeers(cell);
+        }
+        counts = new int[topology.getUnitCount() * digits];
+        usedMasks = new int[topology.getUnitCount()];
+        unitFilled = new int[topology.getUnitCount()];
+        unitConflicts = new int[topology.getUnitCount()];
+        cageCounts = new int[topology.getCageCount() * digits];
+        cageMasks = new int[topology.getCageCount()];
+        cageInfeasible = new boolean[topology.getCageCount()];
+        constrained = topology.hasCellConstraints();
+        zobristKeys = topology.zobristKeys();
+    }
+
+    int unitOf(int cell) {
+        return cellUnits[cell][0];
+    }
+
+    void push(int cell, int value, int unit) {
+        if (depth == trail.length) {
+            trail = Arrays.copyOf(trail, 2 * depth);
+        }
+        trail[depth++] = cell | (long) unit << 16 | (long) cells[cell] << 32 | (long) value << 40;
+        write(cell, value);
+    }
+
+    void pop() {
+        long entry = trail[--depth];
+        write((int) (entry & 0xFFFF), (int) (entry >>> 32 & 0xFF));
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    void clearTrail() {
+        depth = 0;
+    }
+
+    int lastCell() {
+        return (int) (trail[depth - 1] & 0xFFFF);
+    }
+
+    int lastUnit() {
+        return (int) (trail[depth - 1] >>> 16 & 0xFFFF);
+    }
+
+    int lastValue() {
+        return (int) (trail[depth - 1] >>> 40 & 0xFF);
+    }
+
+    int get(int cell) {
+        return cells[cell];
+    }
+
+    long hash() {
+        return hash;
+    }
+
+    void write(int cell, int value) {
+        int old = cells[cell];
+        hash ^= zobristKeys[cell * digits + old] ^ zobristKeys[cell * digits + value];
+        if (0 != old) {
+            remove(cell, old);
+        }
+        cells[cell] = (byte) value;
+        if (0 != value) {
+            add(cell, value);
+        }
+    }
+
+    private void add(int cell, int digit) {
+        for (int unit : cellUnits[cell]) {
+            if (1 == ++counts[unit * digits + digit]) {
+                usedMasks[unit] |= 1 << digit;
+            } else {
+                unitConflicts[unit]++;
+                conflicts++;
+            }
+            unitFilled[unit]++;
+        }
+        if (constrained) {
+            addConstrained(cell, digit);
+        }
+        filled++;
+    }
+
+    private void addConstrained(int cell, int digit) {
+        for (int peer : extraPeers[cell]) {
+            conflicts += digit == cells[peer] ? 1 : 0;
+        }
+        int cage = topology.getCage(cell);
+        if (cage >= 0 && 1 == ++cageCounts[cage * digits + digit]) {
+            cageMasks[cage] |= 1 << digit;
+            updateCage(cage);
+        }
+    }
+
+    private void remove(int cell, int digit) {
+        for (int unit : cellUnits[cell]) {
+            if (0 == --counts[unit * digits + digit]) {
+                usedMasks[unit] &= ~(1 << digit);
+            } else {
+                unitConflicts[unit]--;
+                conflicts--;
+            }
+            unitFilled[unit]--;
+        }
+        if (constrained) {
+            removeConstrained(cell, digit);
+        }
+        filled--;
+    }
+
+    private void removeConstrained(int cell, int digit) {
+        for (int peer : extraPeers[cell]) {
+            conflicts -= digit == cells[peer] ? 1 : 0;
+        }
+        int cage = topology.getCage(cell);
+        if (cage >= 0 && 0 == --cageCounts[cage * digits + digit]) {
+            cageMasks[cage] &= ~(1 << digit);
+            updateCage(cage);
+        }
+    }
+
+    private void updateCage(int cage) {
+        boolean infeasible = !topology.isCageFeasible(cage, cageMasks[cage]);
+        if (infeasible != cageInfeasible[cage]) {
+            cageInfeasible[cage] = infeasible;
+            conflicts += infeasible ? 1 : -1;
+        }
+    }
+
+    int candidates(int cell) {
+        if (0 != cells[cell]) {
+            return 0;
+        }
+        int mask = allDigits;
+        for (int unit : cellUnits[cell]) {
+            mask &= ~usedMasks[unit];
+        }
+        if (!constrained) {
+            return mask;
+        }
+        for (int peer : extraPeers[cell]) {
+            mask &= ~(1 << cells[peer]);
+        }
+        int cage = topology.getCage(cell);
+        return cage < 0 ? mask : mask & topology.getCageCandidates(cage, cageMasks[cage]);
+    }
+
+    int missingMask(int unit) {
+        return allDigits & ~usedMasks[unit];
+    }
+
+    int filled(int unit) {
+        return unitFilled[unit];
+    }
+
+    boolean isValid(int unit) {
+        return 0 == unitConflicts[unit];
+    }
+
+    boolean isValid() {
+        return 0 == conflicts;
+    }
+
+    boolean isSolved() {
+        return cells.length == filled && 0 == conflicts;
+    }
+}
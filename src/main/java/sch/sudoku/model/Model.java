@@ -1,164 +1,247 @@
 package sch.sudoku.model;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
-import lombok.Setter;
+import lombok.Getter;
 
 import java.util.*;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 @Data
 public class Model {
-    private final Integer [] model;
+    @Getter(AccessLevel.NONE)
+    private final Grid grid;
 
-    private final Deque<Command> commands = Lists.newLinkedList();
     private final List<? extends View> views;
-    @Setter(AccessLevel.PROTECTED)
-    private boolean isValid = true ;
+    private final boolean diagonals;
+    private final Topology topology;
+    private ModelListener listener = ModelListener.NONE;
 
-    @Builder
-    public Model(Integer [] model, boolean diagonals) {
-        if (Objects.requireNonNull(model, "model is null").length != 81) {
-            throw new IllegalArgumentException("model size doesn't fit to expectation: 81");
-        }
-        Stream.of(model)
-                .filter(Objects::nonNull)
-                .mapToInt(Integer::intValue)
-                .filter(i -> i < 1 || 9 < i)
-                .findAny()
-                .ifPresent(i -> { throw new IllegalArgumentException("Invalid value in model: " + i); });
-        this.model = model;
-        views = Collections.unmodifiableList(createViews(diagonals));
+    public Model(Integer [] model, boolean diagonals, int blockWidth, int blockHeight) {
+        this(model, diagonals, blockWidth, blockHeight, null);
     }
 
-    private List<View> createViews(boolean diagonals) {
-        Set<View> columns = new LinkedHashSet<>();
-        Set<View> rows = new LinkedHashSet<>();
-        List<View> blocks = new LinkedList<>();
-        for (int i = 0; i < 9; i++) {
-            blocks.add(Block.builder().width(3).height(3).rowIndex(i / 3).columnIndex(i % 3).model(this).build());
+    /**
+     * @param blockWidth  width of a block in cells, {@code 0} for the classic 3
+     * @param blockHeight height of a block in cells, {@code 0} for the classic 3
+     * @param topology    layout including variant constraints; if given it takes precedence over
+     *                    {@code diagonals}, {@code blockWidth} and {@code blockHeight}
+     */
+    @Builder
+    Model(Integer [] model, boolean diagonals, int blockWidth, int blockHeight, Topology topology) {
+        this.topology = null != topology ? topology
+                : Topology.of(0 == blockWidth ? 3 : blockWidth, 0 == blockHeight ? 3 : blockHeight, diagonals);
+        this.diagonals = this.topology.isDiagonals();
+        int cells = this.topology.getCellCount();
+        if (Objects.requireNonNull(model, "model is null").length != cells) {
+            throw new IllegalArgumentException("model size doesn't fit to expectation: " + cells);
         }
-        for (int i = 0; i < 9; i++) {
-            Row row = Row.builder().rowIndex(i).model(this).build();
-            Column column = Column.builder().columnIndex(i).model(this).build();
-
-            final int k = i % 3;
-            IntStream.range(0, 3).map(j -> j + 3 * k).forEach(j -> row.addSibling(blocks.get(j)));
-            IntStream.range(0, 3).map(j -> j * 3 + k).forEach(j -> column.addSibling(blocks.get(j)));
-
-            rows.add(row);
-            columns.add(column);
+        for (Integer value : model) {
+            if (null != value && (value < 1 || this.topology.getSize() < value)) {
+                throw new IllegalArgumentException("Invalid value in model: " + value);
+            }
+        }
+        views = Collections.unmodifiableList(createViews());
+        grid = new Grid(this.topology);
+        for (int i = 0; i < cells; i++) {
+            if (null != model[i]) {
+                grid.write(i, model[i]);
+            }
         }
-        rows.forEach(row -> row.addSiblings(columns));
-        columns.forEach(column -> column.addSiblings(rows));
+    }
 
-        List<View> views = Lists.newLinkedList();
-        views.addAll(rows);
-        views.addAll(columns);
-        views.addAll(blocks);
+    /**
+     * @return a model without any digit laid out by the given topology
+     */
+    public static Model empty(Topology topology) {
+        return builder()
+                .model(new Integer[topology.getCellCount()])
+                .topology(topology)
+                .build();
+    }
 
-        if (diagonals) {
-            View diagonal = new Diagonal(this);
-            View diagonal2 = new Diagonal2(this);
+    public int getSize() {
+        return topology.getSize();
+    }
 
-            diagonal.addSiblings(rows);
-            diagonal.addSiblings(columns);
-            diagonal2.addSiblings(rows);
-            diagonal2.addSiblings(columns);
+    public int getCellCount() {
+        return topology.getCellCount();
+    }
 
-            diagonal.addSiblings(ImmutableList.of(blocks.get(0), blocks.get(4), blocks.get(8)));
-            diagonal2.addSiblings(ImmutableList.of(blocks.get(2), blocks.get(4), blocks.get(6)));
+    public void load(byte[] cells) {
+        int count = topology.getCellCount();
+        if (Objects.requireNonNull(cells, "cells is null").length != count) {
+            throw new IllegalArgumentException("model size doesn't fit to expectation: " + count);
+        }
+        for (byte value : cells) {
+            if (value < 0 || topology.getSize() < value) {
+                throw new IllegalArgumentException("Invalid value in model: " + value);
+            }
+        }
+        grid.clearTrail();
+        for (int i = 0; i < count; i++) {
+            grid.write(i, cells[i]);
+        }
+    }
 
-            views.add(diagonal);
-            views.add(diagonal2);
+    public void copyTo(byte[] cells) {
+        for (int i = 0; i < topology.getCellCount(); i++) {
+            cells[i] = (byte) grid.get(i);
         }
+    }
 
+    private List<View> createViews() {
+        List<View> views = new ArrayList<>(topology.getUnitCount());
+        int size = topology.getSize();
+        int width = topology.getBlockWidth();
+        int height = topology.getBlockHeight();
+        for (int i = 0; i < size; i++) {
+            views.add(Row.builder().rowIndex(i).model(this).build());
+        }
+        for (int i = 0; i < size; i++) {
+            views.add(Column.builder().columnIndex(i).model(this).build());
+        }
+        for (int i = 0; i < size; i++) {
+            views.add(Block.builder().width(width).height(height).rowIndex(i / height).columnIndex(i % height)
+                    .model(this).build());
+        }
+        if (topology.isDiagonals()) {
+            views.add(new Diagonal(this));
+            views.add(new Diagonal2(this));
+        }
+        for (int i = 0; i < topology.getRegionCount(); i++) {
+            views.add(new Region(this, topology.getRegionUnit(i)));
+        }
         return views;
     }
 
     public boolean isSolved() {
-        return getViews().stream().allMatch(View::isSolved);
+        return grid.isSolved();
+    }
+
+    public boolean isValid() {
+        return grid.isValid();
+    }
+
+    boolean isValid(View view) {
+        return grid.isValid(view.getUnitIndex());
+    }
+
+    int getMissingMask(View view) {
+        return grid.missingMask(view.getUnitIndex());
+    }
+
+    int countFilled(View view) {
+        return grid.filled(view.getUnitIndex());
     }
 
     public void set(View view, int index, int value) {
-        if (index < 0 || 80 < index) {
+        if (index < 0 || topology.getCellCount() <= index) {
             throw new IllegalArgumentException("index: " + index);
         }
-        if (value < 1 || 9 < value) {
+        if (value < 1 || topology.getSize() < value) {
             throw new IllegalArgumentException("value: " + value);
         }
         if (this != view.getModel()) {
             throw new IllegalStateException("The given view does not belong to this model.");
         }
-        Command command = Command.builder()
-                .model(this)
-                .view(view)
-                .index(index)
-                .newValue(value)
-                .oldValue(getModel()[index])
-                .build();
-        command.execute();
-        getCommands().push(command);
+        grid.push(index, value, view.getUnitIndex());
+        listener.placed(index, value, grid.depth());
+    }
+
+    public void setListener(ModelListener listener) {
+        this.listener = Objects.requireNonNull(listener, "listener is null");
+    }
+
+    public void set(int index, int value) {
+        set(getViews().get(grid.unitOf(index)), index, value);
+    }
 
+    /**
+     * @return Zobrist hash of the digits in the grid, independent of the order they were placed in; equal grids of
+     * the same topology instance have equal hashes
+     */
+    public long getHash() {
+        return grid.hash();
     }
 
     public Integer get(int index) {
-        return getModel()[index];
+        int value = grid.get(index);
+        return 0 == value ? null : value;
+    }
+
+    public int getDigit(int index) {
+        return grid.get(index);
+    }
+
+    public int getCandidates(int index) {
+        return grid.candidates(index);
+    }
+
+    public Integer[] getModel() {
+        Integer[] model = new Integer[topology.getCellCount()];
+        for (int i = 0; i < model.length; i++) {
+            model[i] = get(i);
+        }
+        return model;
     }
 
     public Value undo() {
         if (!canUndo()) {
             throw new IllegalStateException("The command stack is empty.");
         }
-        Command command = getCommands().remove();
-        command.undo();
-        return Value.builder().view(command.getView()).index(command.getIndex()).value(command.getNewValue()).build();
+        Value value = Value.builder().view(getLastView()).index(getLastIndex()).value(getLastValue()).build();
+        rollback(getDepth() - 1);
+        return value;
     }
 
     public boolean canUndo() {
-        return !getCommands().isEmpty();
+        return 0 != grid.depth();
     }
 
+    /**
+     * @return number of moves that can be undone; pass it to {@link #rollback(int)} to return to this state
+     */
+    public int getDepth() {
+        return grid.depth();
+    }
 
-    @lombok.Value
-    @Builder
-    static class Command {
-        private final Model model;
-        private final int index;
-        private final Integer oldValue;
-        private final int newValue;
-        private final View view;
-
-        private void execute() {
-            model.model[index] = newValue;
-            updateValidity();
+    /**
+     * Undoes moves until only {@code depth} of them are left.
+     */
+    public void rollback(int depth) {
+        if (depth < 0 || grid.depth() < depth) {
+            throw new IllegalArgumentException("depth: " + depth);
         }
-
-        private void updateValidity() {
-            boolean valid = view.getSiblings().stream().allMatch(View::isValid);
-            valid &= view.isValid();
-            model.setValid(valid);
+        while (grid.depth() > depth) {
+            int index = grid.lastCell();
+            grid.pop();
+            listener.undone(index, grid.depth());
         }
+    }
 
-        private void undo() {
-            model.model[index] = oldValue;
-            updateValidity();
-        }
+    public int getLastIndex() {
+        return grid.lastCell();
+    }
+
+    public int getLastValue() {
+        return grid.lastValue();
+    }
+
+    public View getLastView() {
+        return getViews().get(grid.lastUnit());
     }
 
     @Override
     public String toString() {
+        int size = topology.getSize();
         StringBuilder b = new StringBuilder();
         b.append(getRowSeparator(0));
-        for (int i = 0; i < 9; ) {
+        for (int i = 0; i < size; ) {
             b.append(getColumnSeparator(0));
-            for (int j = 0; j < 9; ) {
-                Integer x = getModel()[9 * i + j];
-                b.append(null == x ? "   " : " " + x + " ");
+            for (int j = 0; j < size; ) {
+                int x = grid.get(size * i + j);
+                b.append(0 == x ? "   " : " " + Topology.toChar(x) + " ");
                 b.append(getColumnSeparator(++j));
             }
             b.append('\n');
@@ -168,7 +251,7 @@ public class Model {
     }
 
     private char getColumnSeparator(int index) {
-        if (0 == index % 3) {
+        if (0 == index % topology.getBlockWidth()) {
             return 'H';
         } else {
             return '|';
@@ -176,10 +259,11 @@ public class Model {
     }
 
     private String getRowSeparator(int index) {
-        if (0 == index % 3) {
-            return "+===+===+===*===+===+===*===+===+===+\n";
-        } else {
-            return "+---+---+---*---+---+---*---+---+---+\n";
+        String line = 0 == index % topology.getBlockHeight() ? "===" : "---";
+        StringBuilder b = new StringBuilder("+");
+        for (int j = 1; j <= topology.getSize(); j++) {
+            b.append(line).append(0 == j % topology.getBlockWidth() && j < topology.getSize() ? '*' : '+');
         }
+        return b.append('\n').toString();
     }
 }
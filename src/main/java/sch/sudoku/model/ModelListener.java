@@ -0,0 +1,14 @@
+package sch.sudoku.model;
+
+/**
+ * Receives every change of a {@link Model}. {@code depth} is the size of the command stack after the change.
+ */
+public interface ModelListener {
+    ModelListener NONE = new ModelListener() { };
+
+    default void placed(int index, int value, int depth) {
+    }
+
+    default void undone(int index, int depth) {
+    }
+}
@@ -0,0 +1,11 @@
+package sch.sudoku.model;
+
+/**
+ * View of an extra all-different unit added by {@link Constraints}, e.g. a Windoku window.
+ */
+public class Region extends View {
+
+    public Region(Model model, int unitIndex) {
+        super(model, unitIndex);
+    }
+}
@@ -12,20 +12,8 @@ public class Row extends View {
 
     @Builder
     Row(Model model, int rowIndex) {
-        super(model);
+        super(model, model.getTopology().getRowUnit(rowIndex));
         this.rowIndex = rowIndex;
     }
 
-    @Override
-    protected int toModelIndex(int columnIndex) {
-        int modelIndex = getRowIndex() * 9 + columnIndex - getStartIndex();
-        return modelIndex;
-    }
-
-    @Override
-    public int toViewIndex(int modelIndex) {
-        int columnIndex = modelIndex + getStartIndex() - 9 * getRowIndex();
-        return columnIndex;
-    }
-
 }
@@ -0,0 +1,506 @@
+package sch.sudoku.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable lookup tables of the units (rows, columns, blocks and optionally both diagonals) of a board, computed
+ * once per process and shared by all models of a variant: unit to cells, cell to view index per unit, cell to
+ * units, cell to peers and unit to overlapping units.
+ * <p>
+ * A board of blocks {@code blockWidth} cells wide and {@code blockHeight} cells high has
+ * {@code size = blockWidth * blockHeight} rows, columns, blocks and digits. Units are numbered rows first, then
+ * columns, blocks, the diagonals and the extra regions, which is also the order of {@link Model#getViews()}. Digit
+ * sets are {@code int} masks with bit {@code d} standing for digit {@code d}, so sizes up to 25 are supported.
+ * <p>
+ * {@link #with(Constraints)} compiles variant rules into a new, uncached topology: regions are units like any other,
+ * related cells and the cells of a cage are peers, and cages restrict candidates to their digit combinations.
+ * <p>
+ * Each topology also draws its own random Zobrist key per cell and digit, so the hash of a grid (see
+ * {@link Model#getHash()}) is comparable between all models sharing the topology instance.
+ */
+public final class Topology {
+    public static final int MAX_SIZE = 25;
+
+    private static final Map<Integer, Topology> TOPOLOGIES = new ConcurrentHashMap<>();
+
+    public static final Topology CLASSIC = of(3, 3, false);
+    public static final Topology DIAGONALS = of(3, 3, true);
+
+    private final int blockWidth;
+    private final int blockHeight;
+    private final int size;
+    private final boolean diagonals;
+    private final int[][] unitCells;
+    private final byte[][] viewIndexes;
+    private final int[][] cellUnits;
+    private final int[][] peers;
+    private final int[][] siblings;
+    private final Constraints constraints;
+    private final int regions;
+    private final int[][] extraPeers;
+    private final int[] cellCages;
+    private final int[][] cageCells;
+    private final int[] cageSums;
+    private final int[][] cageCombinations;
+    private final boolean cellConstraints;
+    private final long[] zobristKeys;
+
+    public static Topology of(boolean diagonals) {
+        return diagonals ? DIAGONALS : CLASSIC;
+    }
+
+    public static Topology of(int blockWidth, int blockHeight, boolean diagonals) {
+        if (blockWidth < 1 || blockHeight < 1 || MAX_SIZE < blockWidth * blockHeight) {
+            throw new IllegalArgumentException("block size: " + blockWidth + "x" + blockHeight);
+        }
+        return TOPOLOGIES.computeIfAbsent((blockWidth << 8 | blockHeight) << 1 | (diagonals ? 1 : 0),
+                key -> new Topology(blockWidth, blockHeight, diagonals, Constraints.NONE));
+    }
+
+    /**
+     * @return a topology adding the given variant rules to this one's layout
+     * @throws IllegalArgumentException if a region, cage or relation does not fit the board
+     */
+    public Topology with(Constraints constraints) {
+        if (hasConstraints()) {
+            throw new IllegalStateException("The topology already has constraints.");
+        }
+        return constraints.isEmpty() ? this : new Topology(blockWidth, blockHeight, diagonals, constraints);
+    }
+
+    private Topology(int blockWidth, int blockHeight, boolean diagonals, Constraints constraints) {
+        this.blockWidth = blockWidth;
+        this.blockHeight = blockHeight;
+        this.size = blockWidth * blockHeight;
+        this.diagonals = diagonals;
+        this.constraints = constraints;
+        int cells = size * size;
+        List<int[]> regionCells = regionCells(constraints);
+        regions = regionCells.size();
+        int units = 3 * size + (diagonals ? 2 : 0) + regions;
+
+        unitCells = new int[units][size];
+        for (int region = 0; region < regions; region++) {
+            unitCells[getRegionUnit(region)] = regionCells.get(region);
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                unitCells[getRowUnit(i)][j] = i * size + j;
+                unitCells[getColumnUnit(i)][j] = i + j * size;
+                int row = i / blockHeight * blockHeight + j / blockWidth;
+                int column = i % blockHeight * blockWidth + j % blockWidth;
+                unitCells[getBlockUnit(i)][j] = row * size + column;
+                if (diagonals) {
+                    unitCells[getDiagonalUnit()][j] = (size + 1) * j;
+                    unitCells[getDiagonal2Unit()][j] = (size - 1) * (j + 1);
+                }
+            }
+        }
+
+        viewIndexes = new byte[units][cells];
+        int[] unitsPerCell = new int[cells];
+        for (int unit = 0; unit < units; unit++) {
+            Arrays.fill(viewIndexes[unit], (byte) -1);
+            for (int i = 0; i < size; i++) {
+                viewIndexes[unit][unitCells[unit][i]] = (byte) i;
+                unitsPerCell[unitCells[unit][i]]++;
+            }
+        }
+
+        cellCages = new int[cells];
+        Arrays.fill(cellCages, -1);
+        cageSums = new int[constraints.getCages().size()];
+        cageCells = new int[cageSums.length][];
+        cageCombinations = new int[cageSums.length][];
+        boolean[][] related = new boolean[cells][];
+        for (int cage = 0; cage < cageSums.length; cage++) {
+            int[] definition = constraints.getCages().get(cage);
+            cageSums[cage] = definition[0];
+            cageCells[cage] = checkCells(Arrays.copyOfRange(definition, 1, definition.length), "cage");
+            for (int cell : cageCells[cage]) {
+                if (cellCages[cell] >= 0) {
+                    throw new IllegalArgumentException("cage: " + Arrays.toString(cageCells[cage]));
+                }
+                cellCages[cell] = cage;
+                for (int other : cageCells[cage]) {
+                    relate(related, cell, other);
+                }
+            }
+            cageCombinations[cage] = combinations(cageCells[cage].length, cageSums[cage]);
+            if (0 == cageCombinations[cage].length) {
+                throw new IllegalArgumentException("cage sum: " + cageSums[cage]);
+            }
+        }
+        for (int[] relation : relations(constraints)) {
+            checkCells(relation, "relation");
+            relate(related, relation[0], relation[1]);
+            relate(related, relation[1], relation[0]);
+        }
+
+        cellUnits = new int[cells][];
+        peers = new int[cells][];
+        extraPeers = new int[cells][];
+        for (int cell = 0; cell < cells; cell++) {
+            cellUnits[cell] = new int[unitsPerCell[cell]];
+            int k = 0;
+            boolean[] peer = new boolean[cells];
+            for (int unit = 0; unit < units; unit++) {
+                if (viewIndexes[unit][cell] >= 0) {
+                    cellUnits[cell][k++] = unit;
+                    for (int other : unitCells[unit]) {
+                        peer[other] = other != cell;
+                    }
+                }
+            }
+            boolean[] extra = new boolean[cells];
+            for (int other = 0; null != related[cell] && other < cells; other++) {
+                extra[other] = related[cell][other] && !peer[other];
+                peer[other] |= extra[other];
+            }
+            peers[cell] = indexesOf(peer);
+            extraPeers[cell] = indexesOf(extra);
+        }
+        boolean anyExtraPeers = false;
+        for (int[] extra : extraPeers) {
+            anyExtraPeers |= 0 != extra.length;
+        }
+        cellConstraints = 0 != cageSums.length || anyExtraPeers;
+
+        siblings = new int[units][];
+        for (int unit = 0; unit < units; unit++) {
+            boolean[] sibling = new boolean[units];
+            for (int cell : unitCells[unit]) {
+                for (int other : cellUnits[cell]) {
+                    sibling[other] = other != unit;
+                }
+            }
+            siblings[unit] = indexesOf(sibling);
+        }
+
+        zobristKeys = new long[cells * (size + 1)];
+        SplittableRandom random = new SplittableRandom();
+        for (int cell = 0; cell < cells; cell++) {
+            for (int digit = 1; digit <= size; digit++) {
+                zobristKeys[cell * (size + 1) + digit] = random.nextLong();
+            }
+        }
+    }
+
+    private List<int[]> regionCells(Constraints constraints) {
+        List<int[]> regionCells = new ArrayList<>();
+        if (constraints.isWindoku()) {
+            for (int top = 1; top + blockHeight <= size; top += blockHeight + 1) {
+                for (int left = 1; left + blockWidth <= size; left += blockWidth + 1) {
+                    int[] window = new int[size];
+                    for (int i = 0; i < size; i++) {
+                        window[i] = (top + i / blockWidth) * size + left + i % blockWidth;
+                    }
+                    regionCells.add(window);
+                }
+            }
+        }
+        for (int[] region : constraints.getRegions()) {
+            if (size != region.length) {
+                throw new IllegalArgumentException("region: " + Arrays.toString(region));
+            }
+            regionCells.add(checkCells(region, "region"));
+        }
+        return regionCells;
+    }
+
+    private List<int[]> relations(Constraints constraints) {
+        List<int[]> relations = new ArrayList<>(constraints.getRelations());
+        int[][] moves = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {1, 1}, {1, -1}};
+        for (int cell = 0; cell < size * size; cell++) {
+            for (int i = constraints.isAntiKnight() ? 0 : 4; i < (constraints.isAntiKing() ? 6 : 4); i++) {
+                int row = cell / size + moves[i][0];
+                int column = cell % size + moves[i][1];
+                if (row < size && 0 <= column && column < size) {
+                    relations.add(new int[] {cell, row * size + column});
+                }
+            }
+        }
+        return relations;
+    }
+
+    private int[] checkCells(int[] cells, String name) {
+        if (cells.length < 1 || size < cells.length) {
+            throw new IllegalArgumentException(name + ": " + Arrays.toString(cells));
+        }
+        boolean[] seen = new boolean[size * size];
+        for (int cell : cells) {
+            if (cell < 0 || seen.length <= cell || seen[cell]) {
+                throw new IllegalArgumentException(name + ": " + Arrays.toString(cells));
+            }
+            seen[cell] = true;
+        }
+        return cells;
+    }
+
+    private void relate(boolean[][] related, int cell, int other) {
+        if (null == related[cell]) {
+            related[cell] = new boolean[size * size];
+        }
+        related[cell][other] = cell != other;
+    }
+
+    /**
+     * @return masks of all sets of {@code count} distinct digits adding up to {@code sum}
+     */
+    private int[] combinations(int count, int sum) {
+        List<Integer> combinations = new ArrayList<>();
+        collect(combinations, count, sum, 1, 0);
+        return combinations.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void collect(List<Integer> combinations, int count, int sum, int digit, int mask) {
+        if (0 == count) {
+            if (0 == sum) {
+                combinations.add(mask);
+            }
+            return;
+        }
+        for (int d = digit; d <= size && d <= sum; d++) {
+            collect(combinations, count - 1, sum - d, d + 1, mask | 1 << d);
+        }
+    }
+
+    /**
+     * @return {@code 1}-{@code 9} for the digits up to nine, then {@code A} for ten up to {@code P} for 25
+     */
+    public static char toChar(int digit) {
+        return Character.toUpperCase(Character.forDigit(digit, MAX_SIZE + 1));
+    }
+
+    /**
+     * @return the digit written as {@code c} by {@link #toChar(int)} or {@code -1} if it is none
+     */
+    public static int toDigit(char c) {
+        return Character.digit(c, MAX_SIZE + 1);
+    }
+
+    private static int[] indexesOf(boolean[] flags) {
+        int count = 0;
+        for (boolean flag : flags) {
+            count += flag ? 1 : 0;
+        }
+        int[] indexes = new int[count];
+        for (int i = 0, k = 0; i < flags.length; i++) {
+            if (flags[i]) {
+                indexes[k++] = i;
+            }
+        }
+        return indexes;
+    }
+
+    public int getBlockWidth() {
+        return blockWidth;
+    }
+
+    public int getBlockHeight() {
+        return blockHeight;
+    }
+
+    /**
+     * @return number of cells per unit, which is also the largest digit
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public int getCellCount() {
+        return size * size;
+    }
+
+    /**
+     * @return mask of all digits {@code 1..size}
+     */
+    public int getAllDigits() {
+        return (1 << size + 1) - 2;
+    }
+
+    public boolean isDiagonals() {
+        return diagonals;
+    }
+
+    public int getUnitCount() {
+        return unitCells.length;
+    }
+
+    public int getRowUnit(int row) {
+        return row;
+    }
+
+    public int getColumnUnit(int column) {
+        return size + column;
+    }
+
+    /**
+     * @param block blocks are numbered row by row from the top left
+     */
+    public int getBlockUnit(int block) {
+        return 2 * size + block;
+    }
+
+    public int getDiagonalUnit() {
+        return 3 * size;
+    }
+
+    public int getDiagonal2Unit() {
+        return 3 * size + 1;
+    }
+
+    public int getRegionUnit(int region) {
+        return 3 * size + (diagonals ? 2 : 0) + region;
+    }
+
+    /**
+     * @return number of extra regions, Windoku windows included
+     */
+    public int getRegionCount() {
+        return regions;
+    }
+
+    public Constraints getConstraints() {
+        return constraints;
+    }
+
+    public boolean hasConstraints() {
+        return !constraints.isEmpty();
+    }
+
+    /**
+     * @return whether cages or relations make cells peers that share no unit, which only the candidates and peers
+     * express and not the units
+     */
+    public boolean hasCellConstraints() {
+        return cellConstraints;
+    }
+
+    /**
+     * @return model index of the cell at {@code viewIndex} of the unit
+     */
+    public int getCell(int unit, int viewIndex) {
+        return unitCells[unit][viewIndex];
+    }
+
+    /**
+     * @return index of the cell within the unit or {@code -1} if the unit does not contain the cell
+     */
+    public int getViewIndex(int unit, int cell) {
+        return viewIndexes[unit][cell];
+    }
+
+    public int getUnitCount(int cell) {
+        return cellUnits[cell].length;
+    }
+
+    public int getUnit(int cell, int i) {
+        return cellUnits[cell][i];
+    }
+
+    public int getPeerCount(int cell) {
+        return peers[cell].length;
+    }
+
+    public int getPeer(int cell, int i) {
+        return peers[cell][i];
+    }
+
+    /**
+     * @return number of peers that share no unit with the cell, see {@link #hasCellConstraints()}
+     */
+    public int getExtraPeerCount(int cell) {
+        return extraPeers[cell].length;
+    }
+
+    public int getExtraPeer(int cell, int i) {
+        return extraPeers[cell][i];
+    }
+
+    public int getSiblingCount(int unit) {
+        return siblings[unit].length;
+    }
+
+    public int getSibling(int unit, int i) {
+        return siblings[unit][i];
+    }
+
+    int[] cellUnits(int cell) {
+        return cellUnits[cell];
+    }
+
+    /**
+     * @return peers that share no unit with the cell: related cells and cells of the same cage
+     */
+    int[] extraPeers(int cell) {
+        return extraPeers[cell];
+    }
+
+    /**
+     * @return key of digit {@code d} in cell {@code c} at {@code c * (size + 1) + d}, {@code 0} for the empty cell
+     */
+    long[] zobristKeys() {
+        return zobristKeys;
+    }
+
+    public int getCageCount() {
+        return cageSums.length;
+    }
+
+    /**
+     * @return the cage of the cell or {@code -1} if it has none
+     */
+    public int getCage(int cell) {
+        return cellCages[cell];
+    }
+
+    public int getCageSum(int cage) {
+        return cageSums[cage];
+    }
+
+    public int getCageSize(int cage) {
+        return cageCells[cage].length;
+    }
+
+    public int getCageCell(int cage, int i) {
+        return cageCells[cage][i];
+    }
+
+    /**
+     * @param used digits already placed in the cage
+     * @return digits that complete {@code used} to one of the cage's combinations
+     */
+    public int getCageCandidates(int cage, int used) {
+        int candidates = 0;
+        for (int combination : cageCombinations[cage]) {
+            if (used == (combination & used)) {
+                candidates |= combination;
+            }
+        }
+        return candidates & ~used;
+    }
+
+    /**
+     * @return whether {@code used} is part of one of the cage's combinations
+     */
+    public boolean isCageFeasible(int cage, int used) {
+        for (int combination : cageCombinations[cage]) {
+            if (used == (combination & used)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "Topology(" + blockWidth + "x" + blockHeight + (diagonals ? ", diagonals" : "")
+                + (hasConstraints() ? ", " + constraints : "") + ")";
+    }
+}
@@ -1,18 +1,14 @@
 package sch.sudoku.model;
 
-import com.google.common.collect.Lists;
 import lombok.experimental.NonFinal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.IntFunction;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.*;
 
 @lombok.Value
@@ -21,23 +17,25 @@ public abstract class View implements IntFunction<Integer>, BiConsumer<Integer,
 
     private final Model model;
 
-    private Collection<View> siblings = Lists.newLinkedList();
-
     private final int startIndex = 0;
 
-    public Collection<? extends View> getSiblings() {
-        return siblings;
-    }
+    private final int unitIndex;
 
-    public void addSibling(View sibling) {
-        if (!getSiblings().contains(sibling)) {
-            siblings.add(sibling);
-            sibling.addSibling(this);
-        }
+    protected View(Model model, int unitIndex) {
+        this.model = model;
+        this.unitIndex = unitIndex;
     }
 
-    public void addSiblings(Collection<? extends View> siblings) {
-        siblings.forEach(this::addSibling);
+    /**
+     * @return the views sharing at least one cell with this view
+     */
+    public Collection<? extends View> getSiblings() {
+        Topology topology = getModel().getTopology();
+        List<View> siblings = new ArrayList<>(topology.getSiblingCount(unitIndex));
+        for (int i = 0; i < topology.getSiblingCount(unitIndex); i++) {
+            siblings.add(getModel().getViews().get(topology.getSibling(unitIndex, i)));
+        }
+        return siblings;
     }
 
     @Override
@@ -55,44 +53,64 @@ public abstract class View implements IntFunction<Integer>, BiConsumer<Integer,
     public Value getValue(int index) { return Value.builder().view(this).index(index).value(apply(index)).build(); }
 
     public List<? extends Value> getMissingValues() {
-        return IntStream.range(0, 9)
+        return IntStream.range(0, size())
                 .mapToObj(this::getValue)
                 .filter(v -> null == v.getValue())
                 .collect(toList());
     }
 
     public int countMissingValues() {
-        return (int) IntStream.range(0, 9).filter(i -> null == get(i)).count();
+        return size() - getModel().countFilled(this);
     }
 
     public boolean hasMissingValues() {
-        return IntStream.range(0, 9).mapToObj(this::get).anyMatch(Objects::isNull);
+        return size() != getModel().countFilled(this);
+    }
+
+    public int nextMissingIndex(int fromIndex) {
+        for (int i = fromIndex; i < size(); i++) {
+            if (0 == getModel().getDigit(toModelIndex(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return digits not yet used in this view, bit {@code d} standing for digit {@code d}
+     */
+    public int getMissingMask() {
+        return getModel().getMissingMask(this);
     }
 
     public List<? extends Number> getMissingNumbers() {
-        List<Integer> missingNumbers = IntStream.range(1, 10).mapToObj(Integer::valueOf).collect(toList());
-        missingNumbers.removeAll(IntStream.range(0, 9).mapToObj(this::get).filter(Objects::nonNull).collect(toSet()));
-        return missingNumbers;
+        int mask = getMissingMask();
+        return IntStream.rangeClosed(1, size()).filter(d -> 0 != (mask & 1 << d)).boxed().collect(toList());
     }
 
-    public void set(int index, Integer value) { accept(index, value); }
+    public void set(int index, int value) {
+        getModel().set(this, toModelIndex(index), value);
+    }
 
     public  boolean isSolved() {
-        List<Integer> list = IntStream.range(0, 9).mapToObj(this).filter(Objects::nonNull).collect(toList());
-        return 9 == list.size() && isValid();
+        return !hasMissingValues() && isValid();
     }
 
     public boolean isValid() {
-        Map<Integer, Long> multipliciy = IntStream.range(0, 9)
-                .mapToObj(this)
-                .filter(Objects::nonNull)
-                .collect(groupingBy(identity(), counting()));
-        return multipliciy.values().stream().allMatch(m -> m == 1);
+        return getModel().isValid(this);
+    }
+
+    public int getModelIndex(int index) {
+        return toModelIndex(index);
     }
 
-    protected abstract int toModelIndex(int index);
+    protected int toModelIndex(int viewIndex) {
+        return getModel().getTopology().getCell(unitIndex, viewIndex);
+    }
 
-    public abstract int toViewIndex(int index);
+    public int toViewIndex(int modelIndex) {
+        return getModel().getTopology().getViewIndex(unitIndex, modelIndex);
+    }
 
     @Override
     public int compareTo(View o) {
@@ -100,6 +118,11 @@ public abstract class View implements IntFunction<Integer>, BiConsumer<Integer,
     }
 
     public String toString() {
-        return IntStream.range(0, 9).mapToObj(this::get).map(i -> null == i ? " " : i.toString()).collect(joining());
+        return IntStream.range(0, size()).mapToObj(this::get).map(i -> null == i ? " " : String.valueOf(Topology.toChar(i)))
+                .collect(joining());
+    }
+
+    private int size() {
+        return getModel().getTopology().getSize();
     }
 }
@@ -0,0 +1,184 @@
+package sch.sudoku.server;
+
+import lombok.Builder;
+import lombok.Value;
+import sch.sudoku.io.GridReader;
+import sch.sudoku.io.GridWriter;
+import sch.sudoku.model.Topology;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed loop client of a {@link SolverServer}: each of {@code clients} threads posts {@code requests} requests of
+ * {@code gridsPerRequest} grids, taken round robin from {@code grids}, and waits for the answer before sending the
+ * next one. Rejected requests are counted, not retried.
+ */
+public class LoadGenerator {
+    private final URL url;
+    private final List<byte[]> grids;
+    private final int clients;
+    private final int requests;
+    private final int gridsPerRequest;
+
+    @Builder
+    LoadGenerator(URL url, List<byte[]> grids, int clients, int requests, int gridsPerRequest) {
+        this.url = Objects.requireNonNull(url, "url is null");
+        if (Objects.requireNonNull(grids, "grids is null").isEmpty()) {
+            throw new IllegalArgumentException("grids is empty");
+        }
+        if (clients < 0 || requests < 0 || gridsPerRequest < 0) {
+            throw new IllegalArgumentException("clients: " + clients + ", requests: " + requests
+                    + ", gridsPerRequest: " + gridsPerRequest);
+        }
+        this.grids = grids;
+        this.clients = 0 == clients ? 4 : clients;
+        this.requests = 0 == requests ? 100 : requests;
+        this.gridsPerRequest = 0 == gridsPerRequest ? 1 : gridsPerRequest;
+    }
+
+    @Value
+    public static class Result {
+        long requests;
+        long rejected;
+        long failed;
+        long grids;
+        long solved;
+        long elapsedNanos;
+        long p50Nanos;
+        long p99Nanos;
+        long maxNanos;
+
+        public double getRequestsPerSecond() {
+            return requests * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        public double getGridsPerSecond() {
+            return grids * 1e9 / Math.max(1, elapsedNanos);
+        }
+    }
+
+    public Result run() throws InterruptedException {
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder solved = new LongAdder();
+        AtomicLong next = new AtomicLong();
+        long[][] latencies = new long[clients][requests];
+        List<Thread> threads = new ArrayList<>(clients);
+        long start = System.nanoTime();
+        for (int client = 0; client < clients; client++) {
+            long[] clientLatencies = latencies[client];
+            Thread thread = new Thread(() -> {
+                for (int request = 0; request < requests; request++) {
+                    byte[] body = body(next.getAndAdd(gridsPerRequest));
+                    long sent = System.nanoTime();
+                    try {
+                        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                        connection.setRequestMethod("POST");
+                        connection.setDoOutput(true);
+                        connection.setFixedLengthStreamingMode(body.length);
+                        try (OutputStream out = connection.getOutputStream()) {
+                            out.write(body);
+                        }
+                        int status = connection.getResponseCode();
+                        if (200 == status) {
+                            solved.add(countSolved(connection.getInputStream()));
+                        } else {
+                            (503 == status || 413 == status ? rejected : failed).increment();
+                            drain(connection.getErrorStream());
+                        }
+                    } catch (IOException e) {
+                        failed.increment();
+                    }
+                    clientLatencies[request] = System.nanoTime() - sent;
+                }
+            }, "load-generator-" + client);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        long[] sorted = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        long total = sorted.length;
+        return new Result(total, rejected.sum(), failed.sum(), total * gridsPerRequest, solved.sum(), elapsed,
+                percentile(sorted, 0.5), percentile(sorted, 0.99), sorted[sorted.length - 1]);
+    }
+
+    private byte[] body(long first) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GridWriter writer = new GridWriter(Channels.newChannel(body))) {
+            for (int i = 0; i < gridsPerRequest; i++) {
+                writer.write(grids.get((int) ((first + i) % grids.size())));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return body.toByteArray();
+    }
+
+    private static long countSolved(InputStream in) throws IOException {
+        long solved = 0;
+        boolean lineStart = true;
+        try (InputStream body = in) {
+            for (int c = body.read(); c >= 0; c = body.read()) {
+                if (lineStart && '#' != c && '\n' != c) {
+                    solved++;
+                }
+                lineStart = '\n' == c;
+            }
+        }
+        return solved;
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        if (null != in) {
+            try (InputStream body = in) {
+                while (body.read() >= 0) {
+                    // discard
+                }
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.max(0, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+
+    /**
+     * Arguments: the url of the solve endpoint, a file of classic grids in the one line format and optionally the number of
+     * clients, requests per client and grids per request.
+     */
+    public static void main(String[] args) throws Exception {
+        List<byte[]> grids = new ArrayList<>();
+        try (GridReader reader = GridReader.open(Paths.get(args[1]))) {
+            int cells = Topology.CLASSIC.getCellCount();
+            for (byte[] grid = new byte[cells]; reader.read(grid); grid = new byte[cells]) {
+                grids.add(grid);
+            }
+        }
+        Result result = LoadGenerator.builder()
+                .url(new URL(args[0]))
+                .grids(grids)
+                .clients(args.length > 2 ? Integer.parseInt(args[2]) : 0)
+                .requests(args.length > 3 ? Integer.parseInt(args[3]) : 0)
+                .gridsPerRequest(args.length > 4 ? Integer.parseInt(args[4]) : 0)
+                .build()
+                .run();
+        System.out.println(result);
+        System.out.printf("%.1f requests/s, %.1f grids/s%n", result.getRequestsPerSecond(), result.getGridsPerSecond());
+    }
+}
@@ -0,0 +1,114 @@
+package sch.sudoku.server;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe counters of a {@link SolverServer}: requests and grids, rejections, the micro-batches the workers
+ * formed and a histogram of the request latency with power of two buckets.
+ */
+public class ServerStatistics {
+    private final long startNanos = System.nanoTime();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder grids = new LongAdder();
+    private final LongAdder solved = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray latencies = new AtomicLongArray(64);
+
+    void requested(long nanos) {
+        requests.increment();
+        maxLatencyNanos.accumulate(nanos);
+        latencies.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(1, nanos)));
+    }
+
+    void rejected() {
+        rejected.increment();
+    }
+
+    void batched(int size, int solvedGrids) {
+        batches.increment();
+        grids.add(size);
+        solved.add(solvedGrids);
+        maxBatchSize.accumulate(size);
+    }
+
+    /**
+     * @return answered requests, not counting rejected ones
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getGrids() {
+        return grids.sum();
+    }
+
+    public long getSolved() {
+        return solved.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getMaxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    public double getAverageBatchSize() {
+        long count = getBatches();
+        return 0 == count ? 0 : (double) getGrids() / count;
+    }
+
+    /**
+     * @return grids solved per second since the server started
+     */
+    public double getThroughput() {
+        return getGrids() * 1e9 / Math.max(1, System.nanoTime() - startNanos);
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    /**
+     * @return upper bound of the latency of the given fraction ({@code 0.99} for p99) of all answered requests
+     */
+    public long getLatencyNanosPercentile(double fraction) {
+        long threshold = (long) Math.ceil(fraction * getRequests());
+        long count = 0;
+        for (int bucket = 0; bucket < 64; bucket++) {
+            count += latencies.get(bucket);
+            if (count >= threshold && count > 0) {
+                return bucket == 63 ? Long.MAX_VALUE : (1L << (bucket + 1)) - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the counters as {@code name=value} lines
+     */
+    @Override
+    public String toString() {
+        return "requests=" + getRequests() + "\n"
+                + "rejected=" + getRejected() + "\n"
+                + "grids=" + getGrids() + "\n"
+                + "solved=" + getSolved() + "\n"
+                + "batches=" + getBatches() + "\n"
+                + "averageBatchSize=" + String.format("%.2f", getAverageBatchSize()) + "\n"
+                + "maxBatchSize=" + getMaxBatchSize() + "\n"
+                + "gridsPerSecond=" + String.format("%.1f", getThroughput()) + "\n"
+                + "p50Nanos<=" + getLatencyNanosPercentile(0.5) + "\n"
+                + "p99Nanos<=" + getLatencyNanosPercentile(0.99) + "\n"
+                + "maxNanos=" + getMaxLatencyNanos() + "\n";
+    }
+}
@@ -0,0 +1,321 @@
+package sch.sudoku.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+import lombok.Getter;
+import sch.sudoku.io.GridReader;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+import sch.sudoku.solver.ModelSolver;
+import sch.sudoku.solver.SolveLimits;
+import sch.sudoku.solver.SolveResult;
+import sch.sudoku.solver.Solver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local solver endpoint on the JDK's built in HTTP server.
+ * <p>
+ * {@code POST /solve} takes grids in the one line format of {@link GridReader} and answers one line per grid: the
+ * solution, or {@code # STATUS} of a {@link SolveResult} that was not solved. The grids of all pending requests
+ * share a bounded queue; each worker takes what is queued, up to {@code maxBatchSize} grids, as one micro-batch
+ * and solves it on its own model. A request whose grids do not fit into the free queue capacity is rejected right
+ * away with {@code 503} and {@code Retry-After} instead of piling up, one larger than the whole queue with
+ * {@code 413}. The handler threads only parse and enqueue; the worker finishing the last grid of a request sends
+ * its response, so no thread waits for a request and the queue capacity alone bounds what is in flight.
+ * {@code GET /stats} reports the {@link ServerStatistics}, the grids waiting in the queue and the grids accepted but
+ * not yet answered.
+ */
+public class SolverServer implements Closeable {
+    private static final int MAX_BODY_SIZE = 1 << 24;
+    private static final int HANDLERS = 2;
+
+    private final String host;
+    private final int port;
+    private final Topology topology;
+    private final ModelSolver solver;
+    private final SolveLimits limits;
+    private final int workers;
+    private final int queueCapacity;
+    private final int maxBatchSize;
+
+    @Getter
+    private final ServerStatistics statistics = new ServerStatistics();
+    private final BlockingQueue<Job> queue;
+    private final Semaphore permits;
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private HttpServer server;
+    private ExecutorService handlers;
+
+    @Builder
+    SolverServer(String host, int port, Topology topology, ModelSolver solver, SolveLimits limits, int workers,
+                 int queueCapacity, int maxBatchSize) {
+        if (port < 0 || port > 0xFFFF) {
+            throw new IllegalArgumentException("port: " + port);
+        }
+        if (workers < 0 || queueCapacity < 0 || maxBatchSize < 0) {
+            throw new IllegalArgumentException("workers: " + workers + ", queueCapacity: " + queueCapacity
+                    + ", maxBatchSize: " + maxBatchSize);
+        }
+        this.host = null == host ? "127.0.0.1" : host;
+        this.port = port;
+        this.topology = null == topology ? Topology.CLASSIC : topology;
+        this.solver = null == solver ? Solver.propagating() : solver;
+        this.limits = null == limits ? SolveLimits.NONE : limits;
+        this.workers = 0 == workers ? Runtime.getRuntime().availableProcessors() : workers;
+        this.queueCapacity = 0 == queueCapacity ? 1024 : queueCapacity;
+        this.maxBatchSize = 0 == maxBatchSize ? 64 : maxBatchSize;
+        this.queue = new LinkedBlockingQueue<>(this.queueCapacity);
+        this.permits = new Semaphore(this.queueCapacity);
+    }
+
+    public synchronized SolverServer start() throws IOException {
+        if (null != server) {
+            throw new IllegalStateException("The server is already started.");
+        }
+        AtomicInteger threads = new AtomicInteger();
+        handlers = Executors.newFixedThreadPool(HANDLERS, runnable -> {
+            Thread thread = new Thread(runnable, "solver-server-handler-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.setExecutor(handlers);
+        server.createContext("/solve", this::solve);
+        server.createContext("/stats", this::stats);
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::work, "solver-server-worker-" + i);
+            thread.setDaemon(true);
+            workerThreads.add(thread);
+            thread.start();
+        }
+        server.start();
+        return this;
+    }
+
+    /**
+     * @return the bound port, which is the ephemeral one chosen by the system if the server was built with port 0
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (null == server) {
+            return;
+        }
+        server.stop(0);
+        workerThreads.forEach(Thread::interrupt);
+        workerThreads.clear();
+        List<Job> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.forEach(job -> job.complete("# " + SolveResult.Status.CANCELLED));
+        handlers.shutdownNow();
+        server = null;
+    }
+
+    private void solve(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        boolean queued = false;
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, "# POST grids in the one line format\n");
+                return;
+            }
+            List<byte[]> grids;
+            try {
+                grids = readGrids(exchange.getRequestBody());
+            } catch (IOException e) {
+                respond(exchange, 400, "# " + e.getMessage() + "\n");
+                return;
+            }
+            if (grids.isEmpty()) {
+                respond(exchange, 400, "# No grids\n");
+                return;
+            }
+            if (grids.size() > queueCapacity) {
+                statistics.rejected();
+                respond(exchange, 413, "# At most " + queueCapacity + " grids per request\n");
+                return;
+            }
+            if (!permits.tryAcquire(grids.size())) {
+                statistics.rejected();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 503, "# Queue full\n");
+                return;
+            }
+            Request request = new Request(exchange, grids.size(), start);
+            for (int i = 0; i < grids.size(); i++) {
+                queue.add(new Job(grids.get(i), request, i));
+            }
+            queued = true;
+        } finally {
+            if (!queued) {
+                exchange.close();
+            }
+        }
+    }
+
+    private List<byte[]> readGrids(InputStream body) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        for (int read = body.read(chunk); read >= 0; read = body.read(chunk)) {
+            if (content.size() + read > MAX_BODY_SIZE) {
+                throw new IOException("Request larger than " + MAX_BODY_SIZE + " bytes.");
+            }
+            content.write(chunk, 0, read);
+        }
+        List<byte[]> grids = new ArrayList<>();
+        GridReader reader = GridReader.of(content.toByteArray());
+        for (byte[] grid = newGrid(); reader.read(grid); grid = newGrid()) {
+            grids.add(grid);
+        }
+        return grids;
+    }
+
+    private byte[] newGrid() {
+        return new byte[topology.getCellCount()];
+    }
+
+    private void stats(HttpExchange exchange) throws IOException {
+        try {
+            respond(exchange, 200, statistics + "queued=" + queue.size() + "\npending="
+                    + (queueCapacity - permits.availablePermits()) + "\n");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=us-ascii");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void work() {
+        Model model = Model.empty(topology);
+        byte[] solution = newGrid();
+        List<Job> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+                int solved = 0;
+                for (Job job : batch) {
+                    try {
+                        model.load(job.grid);
+                        SolveResult result = solver.solve(model, limits);
+                        if (result.isSolved()) {
+                            model.copyTo(solution);
+                            job.complete(format(solution));
+                            solved++;
+                        } else {
+                            job.complete("# " + result.getStatus());
+                        }
+                    } catch (RuntimeException e) {
+                        job.complete("# " + e.getMessage());
+                    }
+                }
+                statistics.batched(batch.size(), solved);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            batch.forEach(job -> job.complete("# " + SolveResult.Status.CANCELLED));
+        }
+    }
+
+    private static String format(byte[] grid) {
+        char[] line = new char[grid.length];
+        for (int i = 0; i < grid.length; i++) {
+            line[i] = 0 == grid[i] ? '.' : Topology.toChar(grid[i]);
+        }
+        return new String(line);
+    }
+
+    /**
+     * Serves on {@code 127.0.0.1} until killed; the optional arguments are the port (default 8080) and the number
+     * of workers.
+     */
+    public static void main(String[] args) throws Exception {
+        SolverServer server = SolverServer.builder()
+                .port(args.length > 0 ? Integer.parseInt(args[0]) : 8080)
+                .workers(args.length > 1 ? Integer.parseInt(args[1]) : 0)
+                .build()
+                .start();
+        System.out.println("Solving on http://127.0.0.1:" + server.getPort() + "/solve, stats on /stats");
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Answers its exchange once the line of every grid is in; the last job to complete sends the response.
+     */
+    private final class Request {
+        private final HttpExchange exchange;
+        private final String[] lines;
+        private final AtomicInteger remaining;
+        private final long start;
+
+        Request(HttpExchange exchange, int grids, long start) {
+            this.exchange = exchange;
+            this.lines = new String[grids];
+            this.remaining = new AtomicInteger(grids);
+            this.start = start;
+        }
+
+        void complete(int index, String line) {
+            lines[index] = line;
+            permits.release();
+            if (0 != remaining.decrementAndGet()) {
+                return;
+            }
+            StringBuilder response = new StringBuilder();
+            for (String each : lines) {
+                response.append(each).append('\n');
+            }
+            try {
+                respond(exchange, 200, response.toString());
+                statistics.requested(System.nanoTime() - start);
+            } catch (IOException e) {
+                // the client is gone, nothing left to answer
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    private static final class Job {
+        private final byte[] grid;
+        private final Request request;
+        private final int index;
+
+        Job(byte[] grid, Request request, int index) {
+            this.grid = grid;
+            this.request = request;
+            this.index = index;
+        }
+
+        void complete(String line) {
+            request.complete(index, line);
+        }
+    }
+}
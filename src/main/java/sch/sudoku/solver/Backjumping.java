@@ -0,0 +1,196 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.Model;
+import sch.sudoku.model.ModelListener;
+import sch.sudoku.model.Topology;
+import sch.sudoku.model.View;
+
+import java.util.Arrays;
+
+/**
+ * Trial and error over the views of a {@link ViewScheduler} with conflict-directed backjumping.
+ * <p>
+ * Every level of the trail keeps a conflict set: the earlier levels whose placements ruled out values of the cell
+ * placed there. A value fails either at once, because a peer holds it, or through a conflict set handed up from a
+ * deeper level, or through a learned nogood. When a cell has no value left, its peers holding the values are added
+ * (the shallowest placement per digit; givens and placements made before the solve count as fixed), and the
+ * search jumps straight back to the deepest level in the set, which inherits the rest of it. Levels in between are
+ * dropped without trying their other values, as none of them took part in the conflict. Sum cages are explained by
+ * all of their placements.
+ * <p>
+ * With a {@link NogoodStore} the conflict set of an exhausted cell is also stored as a nogood when it is small, and
+ * every placement is checked against the stored ones.
+ */
+final class Backjumping implements ModelListener {
+    private final Model model;
+    private final Topology topology;
+    private final SolverListener listener;
+    private final NogoodStore nogoods;
+    private final ViewScheduler scheduler;
+    private final int base;
+
+    private final int[] cellDepths;
+    private final int[] depthCells;
+    private final int[] depthValues;
+    private final long[][] conflicts;
+    private final int[] shallowest;
+    private final int[] learnedCells = new int[NogoodStore.MAX_SIZE];
+    private final int[] learnedValues = new int[NogoodStore.MAX_SIZE];
+
+    Backjumping(Model model, SolverListener listener, NogoodStore nogoods) {
+        this.model = model;
+        this.topology = model.getTopology();
+        this.listener = listener;
+        this.nogoods = nogoods;
+        base = model.getDepth();
+        int cells = topology.getCellCount();
+        int levels = base + cells + 1;
+        cellDepths = new int[cells];
+        depthCells = new int[levels];
+        depthValues = new int[levels];
+        conflicts = new long[levels][(levels + 63) >>> 6];
+        shallowest = new int[topology.getSize() + 1];
+        scheduler = new ViewScheduler(model, ViewScheduler.Key.EMPTY_CELLS, this);
+    }
+
+    void solve() {
+        model.setListener(scheduler);
+        while (!model.isSolved()) {
+            listener.validityChecked();
+            if (isConsistent()) {
+                listener.guessed();
+                Solver.forwardStep(scheduler.peek(), 0, 0);
+                Arrays.fill(conflicts[model.getDepth()], 0);
+            } else {
+                backjump();
+            }
+        }
+    }
+
+    @Override
+    public void placed(int index, int value, int depth) {
+        cellDepths[index] = depth;
+        if (depth < depthCells.length) {
+            depthCells[depth] = index;
+            depthValues[depth] = value;
+        }
+        listener.placed(index, value, depth);
+    }
+
+    @Override
+    public void undone(int index, int depth) {
+        cellDepths[index] = 0;
+        listener.undone(index, depth);
+    }
+
+    private boolean isConsistent() {
+        if (!model.isValid()) {
+            return false;
+        }
+        int depth = model.getDepth();
+        if (null == nogoods || depth <= base) {
+            return true;
+        }
+        int nogood = nogoods.find(model, depthCells[depth], depthValues[depth]);
+        if (nogood < 0) {
+            return true;
+        }
+        for (int i = 0; i < nogoods.getSize(nogood); i++) {
+            add(conflicts[depth], cellDepths[nogoods.getCell(nogood, i)], depth);
+        }
+        return false;
+    }
+
+    /**
+     * Takes back the failed placement and tries the next value of its cell; while the cell has none left, jumps
+     * back to the deepest level of its conflict set and tries the next value there.
+     */
+    private void backjump() {
+        listener.backtracked();
+        int depth = model.getDepth();
+        if (depth <= base) {
+            throw new UnsolvableException();
+        }
+        View view = model.getLastView();
+        int index = model.getLastIndex();
+        int value = model.getLastValue();
+        model.rollback(depth - 1);
+        while (!Solver.forwardStep(view, index, value)) {
+            long[] conflict = conflicts[depth];
+            explain(index, conflict, depth);
+            int target = deepest(conflict, depth);
+            if (target <= base) {
+                throw new UnsolvableException();
+            }
+            learn(conflict, depth);
+            for (int i = 0; i < conflict.length; i++) {
+                conflicts[target][i] |= conflict[i];
+            }
+            conflicts[target][target >>> 6] &= ~(1L << target);
+            listener.backtracked();
+            model.rollback(target);
+            view = model.getLastView();
+            index = model.getLastIndex();
+            value = model.getLastValue();
+            model.rollback(target - 1);
+            depth = target;
+        }
+    }
+
+    /**
+     * Adds the placements that rule out values of the cell on their own: per digit the shallowest peer holding it,
+     * unless a fixed peer does, and all placements of the cell's cage.
+     */
+    private void explain(int cell, long[] conflict, int depth) {
+        Arrays.fill(shallowest, Integer.MAX_VALUE);
+        for (int i = 0; i < topology.getPeerCount(cell); i++) {
+            int peer = topology.getPeer(cell, i);
+            int digit = model.getDigit(peer);
+            if (0 != digit) {
+                shallowest[digit] = Math.min(shallowest[digit], cellDepths[peer]);
+            }
+        }
+        for (int digit = 1; digit < shallowest.length; digit++) {
+            if (Integer.MAX_VALUE != shallowest[digit]) {
+                add(conflict, shallowest[digit], depth);
+            }
+        }
+        int cage = topology.getCage(cell);
+        for (int i = 0; cage >= 0 && i < topology.getCageSize(cage); i++) {
+            add(conflict, cellDepths[topology.getCageCell(cage, i)], depth);
+        }
+    }
+
+    private void add(long[] conflict, int level, int depth) {
+        if (base < level && level < depth) {
+            conflict[level >>> 6] |= 1L << level;
+        }
+    }
+
+    private int deepest(long[] conflict, int depth) {
+        for (int word = (depth - 1) >>> 6; word >= 0; word--) {
+            if (0 != conflict[word]) {
+                return word << 6 | 63 - Long.numberOfLeadingZeros(conflict[word]);
+            }
+        }
+        return -1;
+    }
+
+    private void learn(long[] conflict, int depth) {
+        if (null == nogoods) {
+            return;
+        }
+        int size = 0;
+        for (int word = 0; word < conflict.length; word++) {
+            for (long bits = conflict[word]; 0 != bits; bits &= bits - 1) {
+                if (NogoodStore.MAX_SIZE == size) {
+                    return;
+                }
+                int level = word << 6 | Long.numberOfTrailingZeros(bits);
+                learnedCells[size] = depthCells[level];
+                learnedValues[size++] = depthValues[level];
+            }
+        }
+        nogoods.learn(learnedCells, learnedValues, size);
+    }
+}
@@ -0,0 +1,149 @@
+package sch.sudoku.solver;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Solves many grids on an executor. Grids are {@code byte[cells]} with {@code 0} for an empty cell, laid out by
+ * {@code topology} or else by the classic 9x9 board with or without {@code diagonals}. Every worker thread keeps
+ * one {@link Model} and reloads it per grid instead of building a new one. If {@code statistics} is given, the
+ * metrics of every solve are aggregated into it.
+ */
+@Getter
+public class BatchSolver {
+    private static final int MAX_CHUNK_SIZE = 256;
+
+    private final ModelSolver solver;
+    private final Executor executor;
+    private final int parallelism;
+    private final boolean diagonals;
+    private final Topology topology;
+    private final SolveStatistics statistics;
+
+    @Getter(AccessLevel.NONE)
+    private final ThreadLocal<Model> models;
+    @Getter(AccessLevel.NONE)
+    private final ThreadLocal<SolveMetrics> metrics = ThreadLocal.withInitial(SolveMetrics::new);
+
+    @FunctionalInterface
+    public interface SolutionConsumer {
+        /**
+         * @param index    position of the grid in the input
+         * @param solution the solved grid or {@code null} if the grid has no solution
+         */
+        void accept(int index, byte[] solution);
+    }
+
+    @Builder
+    BatchSolver(ModelSolver solver, Executor executor, int parallelism, boolean diagonals, Topology topology,
+                SolveStatistics statistics) {
+        this.solver = null == solver ? Solver.propagating() : solver;
+        this.executor = null == executor ? ForkJoinPool.commonPool() : executor;
+        if (parallelism > 0) {
+            this.parallelism = parallelism;
+        } else if (this.executor instanceof ForkJoinPool) {
+            this.parallelism = ((ForkJoinPool) this.executor).getParallelism();
+        } else {
+            this.parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        this.topology = null == topology ? Topology.of(diagonals) : topology;
+        this.diagonals = this.topology.isDiagonals();
+        this.statistics = statistics;
+        this.models = ThreadLocal.withInitial(() -> Model.empty(this.topology));
+    }
+
+    /**
+     * @return the solutions in input order, {@code null} for grids without a solution
+     */
+    public List<byte[]> solveAll(Collection<byte[]> grids) {
+        byte[][] solutions = new byte[grids.size()][];
+        solveAll(grids.stream(), (index, solution) -> solutions[index] = solution);
+        return Arrays.asList(solutions);
+    }
+
+    /**
+     * Solves the grids of the stream and reports every solution as soon as it is found. The consumer is called
+     * concurrently from the worker threads; the method returns when all grids are done.
+     */
+    public void solveAll(Stream<byte[]> grids, SolutionConsumer consumer) {
+        Phaser pending = new Phaser(1);
+        Semaphore inFlight = new Semaphore(2 * parallelism);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Iterator<byte[]> iterator = grids.iterator();
+        int index = 0;
+        int chunkSize = 1;
+        while (iterator.hasNext() && null == failure.get()) {
+            List<byte[]> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && iterator.hasNext()) {
+                chunk.add(iterator.next());
+            }
+            int offset = index;
+            index += chunk.size();
+            chunkSize = Math.min(MAX_CHUNK_SIZE, 2 * chunkSize);
+
+            inFlight.acquireUninterruptibly();
+            pending.register();
+            try {
+                executor.execute(() -> {
+                    try {
+                        solveChunk(chunk, offset, consumer);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                        pending.arriveAndDeregister();
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.release();
+                pending.arriveAndDeregister();
+                throw e;
+            }
+        }
+        pending.arriveAndAwaitAdvance();
+
+        if (null != failure.get()) {
+            throw new IllegalStateException("Solving the batch failed.", failure.get());
+        }
+    }
+
+    private void solveChunk(List<byte[]> chunk, int offset, SolutionConsumer consumer) {
+        Model model = models.get();
+        for (int i = 0; i < chunk.size(); i++) {
+            consumer.accept(offset + i, solve(model, chunk.get(i)));
+        }
+    }
+
+    private byte[] solve(Model model, byte[] grid) {
+        model.load(grid);
+        SolveMetrics solveMetrics = null == statistics ? null : metrics.get();
+        try {
+            solver.solveModel(model, null == solveMetrics ? SolverListener.NONE : solveMetrics);
+        } catch (UnsolvableException e) {
+            return null;
+        } finally {
+            if (null != solveMetrics) {
+                statistics.record(solveMetrics);
+            }
+        }
+        byte[] solution = new byte[model.getCellCount()];
+        model.copyTo(solution);
+        return solution;
+    }
+}
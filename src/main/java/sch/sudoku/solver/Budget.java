@@ -0,0 +1,124 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.Model;
+
+import java.util.Objects;
+
+/**
+ * Metrics of a bounded solve that stop the engine once a limit is reached by throwing out of the listener
+ * callbacks, so every engine that reports into its listener can be bounded. The counters are compared on every
+ * guess and backtrack, the clock and the cancellation token only on every 64th callback.
+ */
+final class Budget extends SolveMetrics {
+    private static final int CLOCK_INTERVAL = 63;
+
+    private final SolveLimits limits;
+    private long deadline;
+    private int calls;
+    private volatile SolveResult.Status status;
+
+    Budget(SolveLimits limits) {
+        this.limits = Objects.requireNonNull(limits, "limits is null");
+    }
+
+    /**
+     * Runs the solve; unless it succeeds the model is rolled back to the state it had before. Exceptions other than
+     * {@link UnsolvableException} are not outcomes and propagate.
+     */
+    SolveResult run(Model model, Runnable solve) {
+        int depth = model.getDepth();
+        deadline = null == limits.getTimeout() ? 0 : System.nanoTime() + limits.getTimeout().toNanos();
+        if (isExhausted()) {
+            return new SolveResult(status, this);
+        }
+        try {
+            solve.run();
+            return new SolveResult(SolveResult.Status.SOLVED, this);
+        } catch (Exhausted e) {
+            // status is set
+        } catch (UnsolvableException e) {
+            if (!isExhausted()) {
+                status = SolveResult.Status.UNSOLVABLE;
+            }
+        }
+        if (model.getDepth() > depth) {
+            model.rollback(depth);
+        }
+        return new SolveResult(status, this);
+    }
+
+    /**
+     * @return whether a limit is reached; safe to call from the threads of a parallel search
+     */
+    boolean isExhausted() {
+        if (null == status) {
+            if (null != limits.getCancellation() && limits.getCancellation().isCancelled()) {
+                status = SolveResult.Status.CANCELLED;
+            } else if (0 != deadline && System.nanoTime() - deadline >= 0) {
+                status = SolveResult.Status.DEADLINE_EXCEEDED;
+            } else if (exceeds(getGuesses(), limits.getMaxGuesses())
+                    || exceeds(getBacktracks(), limits.getMaxBacktracks())) {
+                status = SolveResult.Status.BUDGET_EXHAUSTED;
+            }
+        }
+        return null != status;
+    }
+
+    private static boolean exceeds(long count, long limit) {
+        return 0 < limit && limit < count;
+    }
+
+    /**
+     * Stops before a guess or backtrack beyond its limit is made, as the engines report them up front.
+     */
+    private void check(long count, long limit) {
+        if (exceeds(count + 1, limit)) {
+            if (null == status) {
+                status = SolveResult.Status.BUDGET_EXHAUSTED;
+            }
+            throw new Exhausted();
+        }
+        check();
+    }
+
+    private void check() {
+        if (0 == (++calls & CLOCK_INTERVAL) && isExhausted()) {
+            throw new Exhausted();
+        }
+    }
+
+    @Override
+    public void guessed() {
+        check(getGuesses(), limits.getMaxGuesses());
+        super.guessed();
+    }
+
+    @Override
+    public void backtracked() {
+        check(getBacktracks(), limits.getMaxBacktracks());
+        super.backtracked();
+    }
+
+    @Override
+    public void propagated() {
+        super.propagated();
+        check();
+    }
+
+    @Override
+    public void validityChecked() {
+        super.validityChecked();
+        check();
+    }
+
+    /**
+     * Leaves the search; without stack trace as it is control flow.
+     */
+    static final class Exhausted extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Exhausted() {
+            super(null, null, false, false);
+        }
+    }
+}
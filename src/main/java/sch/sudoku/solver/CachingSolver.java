@@ -0,0 +1,82 @@
+package sch.sudoku.solver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import sch.sudoku.model.CanonicalForm;
+import sch.sudoku.model.Canonicalizer;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+
+/**
+ * Solves through a bounded cache of solutions keyed by the {@link Canonicalizer canonical form} of the grid, so
+ * a grid that is only a relabelled, transposed or permuted copy of an earlier one is answered by mapping the
+ * cached solution back instead of solving again. Misses are solved by {@code solver}; grids that are not valid
+ * 9x9 grids bypass the cache. Safe for concurrent use.
+ */
+@Getter
+public class CachingSolver implements ModelSolver {
+    private static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    private final ModelSolver solver;
+    private final long maximumSize;
+
+    @Getter(AccessLevel.NONE)
+    private final Cache<String, byte[]> solutions;
+
+    @Builder
+    CachingSolver(ModelSolver solver, long maximumSize) {
+        this.solver = null == solver ? Solver.propagating() : solver;
+        this.maximumSize = maximumSize > 0 ? maximumSize : DEFAULT_MAXIMUM_SIZE;
+        this.solutions = CacheBuilder.newBuilder()
+                .maximumSize(this.maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void solveModel(Model model, SolverListener listener) {
+        Topology topology = model.getTopology();
+        if (9 != topology.getSize() || 3 != topology.getBlockWidth() || topology.hasConstraints() || !model.isValid()) {
+            solver.solveModel(model, listener);
+            return;
+        }
+        byte[] grid = new byte[81];
+        model.copyTo(grid);
+        CanonicalForm form = Canonicalizer.canonicalize(grid, topology.isDiagonals());
+        byte[] solution = solutions.getIfPresent(form.getKey());
+        if (null == solution) {
+            solver.solveModel(model, listener);
+            byte[] solved = new byte[81];
+            model.copyTo(solved);
+            solutions.put(form.getKey(), form.toCanonical(solved));
+            return;
+        }
+        byte[] mapped = form.fromCanonical(solution);
+        Instrumented.run(model, listener, () -> {
+            for (int i = 0; i < 81; i++) {
+                if (0 == grid[i]) {
+                    model.set(i, mapped[i]);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return hits, misses and evictions of the cache so far
+     */
+    public CacheStats getStats() {
+        return solutions.stats();
+    }
+
+    public long getSize() {
+        return solutions.size();
+    }
+
+    public void clear() {
+        solutions.invalidateAll();
+    }
+}
@@ -0,0 +1,17 @@
+package sch.sudoku.solver;
+
+/**
+ * Lets another thread stop a {@link ModelSolver#solve(sch.sudoku.model.Model, SolveLimits) bounded solve}. The
+ * solve notices the request at its next check and returns {@link SolveResult.Status#CANCELLED}.
+ */
+public class CancellationToken {
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,203 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+
+/**
+ * Solves a model as an exact cover problem with Knuth's Algorithm X on dancing links. Every cell and every pair of
+ * unit and digit is a column, so the diagonals of a diagonal model and extra regions simply contribute more sets of
+ * columns. Cages and relations are no exact cover constraints; such models are left to the propagating solver.
+ */
+public class DancingLinksSolver implements ModelSolver {
+
+    @Override
+    public void solveModel(Model model, SolverListener listener) {
+        if (model.getTopology().hasCellConstraints()) {
+            Solver.propagating().solveModel(model, listener);
+            return;
+        }
+        Instrumented.run(model, listener, () -> solve(model, listener));
+    }
+
+    private void solve(Model model, SolverListener listener) {
+        DancingLinks links = new DancingLinks(model.getTopology(), listener);
+        for (int cell = 0; cell < model.getCellCount(); cell++) {
+            int digit = model.getDigit(cell);
+            if (0 != digit && !links.select(cell, digit)) {
+                throw new UnsolvableException();
+            }
+        }
+        if (!links.search()) {
+            throw new UnsolvableException();
+        }
+        for (int i = 0; i < links.getSolutionSize(); i++) {
+            int candidate = links.getSolution(i);
+            model.set(candidate / model.getSize(), candidate % model.getSize() + 1);
+        }
+    }
+
+    /**
+     * Exact cover matrix in flat node arrays; node 0 is the root, nodes 1..columns the column headers. Nothing is
+     * allocated once the matrix is built.
+     */
+    static class DancingLinks {
+        private final int[] left;
+        private final int[] right;
+        private final int[] up;
+        private final int[] down;
+        private final int[] column;
+        private final int[] candidate;
+        private final int[] size;
+        private final int[] firstNode;
+        private final int digits;
+
+        private final int[] solution;
+        private int depth;
+
+        private final SolverListener listener;
+
+        DancingLinks(Topology topology, SolverListener listener) {
+            this.listener = listener;
+            this.digits = topology.getSize();
+            int cells = topology.getCellCount();
+            firstNode = new int[cells * digits];
+            solution = new int[cells];
+
+            int columns = cells + digits * topology.getUnitCount();
+            int nodes = 1 + columns;
+            for (int cell = 0; cell < cells; cell++) {
+                nodes += digits * (1 + topology.getUnitCount(cell));
+            }
+            left = new int[nodes];
+            right = new int[nodes];
+            up = new int[nodes];
+            down = new int[nodes];
+            column = new int[nodes];
+            candidate = new int[nodes];
+            size = new int[columns + 1];
+
+            for (int c = 0; c <= columns; c++) {
+                left[c] = c - 1;
+                right[c] = c + 1;
+                up[c] = c;
+                down[c] = c;
+                column[c] = c;
+            }
+            left[0] = columns;
+            right[columns] = 0;
+
+            int node = columns + 1;
+            for (int cell = 0; cell < cells; cell++) {
+                for (int digit = 0; digit < digits; digit++) {
+                    int row = cell * digits + digit;
+                    int first = node;
+                    firstNode[row] = first;
+                    node = append(node, first, row, 1 + cell);
+                    for (int i = 0; i < topology.getUnitCount(cell); i++) {
+                        node = append(node, first, row, 1 + cells + topology.getUnit(cell, i) * digits + digit);
+                    }
+                }
+            }
+        }
+
+        private int append(int node, int first, int row, int c) {
+            candidate[node] = row;
+            column[node] = c;
+            size[c]++;
+            up[node] = up[c];
+            down[node] = c;
+            down[up[c]] = node;
+            up[c] = node;
+            left[node] = node - 1 < first ? node : node - 1;
+            right[node] = first;
+            right[left[node]] = node;
+            left[first] = node;
+            return node + 1;
+        }
+
+        boolean select(int cell, int digit) {
+            int first = firstNode[cell * digits + digit - 1];
+            int node = first;
+            do {
+                if (right[left[column[node]]] != column[node]) {
+                    return false;
+                }
+                node = right[node];
+            } while (node != first);
+            do {
+                cover(column[node]);
+                node = right[node];
+            } while (node != first);
+            return true;
+        }
+
+        boolean search() {
+            if (0 == right[0]) {
+                return true;
+            }
+            int c = right[0];
+            for (int j = right[c]; 0 != j; j = right[j]) {
+                if (size[j] < size[c]) {
+                    c = j;
+                }
+            }
+            if (0 == size[c]) {
+                return false;
+            }
+            cover(c);
+            for (int r = down[c]; r != c; r = down[r]) {
+                if (1 == size[c]) {
+                    listener.propagated();
+                } else {
+                    listener.guessed();
+                }
+                solution[depth++] = r;
+                for (int j = right[r]; j != r; j = right[j]) {
+                    cover(column[j]);
+                }
+                if (search()) {
+                    return true;
+                }
+                listener.backtracked();
+                for (int j = left[r]; j != r; j = left[j]) {
+                    uncover(column[j]);
+                }
+                depth--;
+            }
+            uncover(c);
+            return false;
+        }
+
+        int getSolutionSize() {
+            return depth;
+        }
+
+        int getSolution(int index) {
+            return candidate[solution[index]];
+        }
+
+        private void cover(int c) {
+            right[left[c]] = right[c];
+            left[right[c]] = left[c];
+            for (int i = down[c]; i != c; i = down[i]) {
+                for (int j = right[i]; j != i; j = right[j]) {
+                    down[up[j]] = down[j];
+                    up[down[j]] = up[j];
+                    size[column[j]]--;
+                }
+            }
+        }
+
+        private void uncover(int c) {
+            for (int i = up[c]; i != c; i = up[i]) {
+                for (int j = left[i]; j != i; j = left[j]) {
+                    size[column[j]]++;
+                    down[up[j]] = j;
+                    up[down[j]] = j;
+                }
+            }
+            right[left[c]] = c;
+            left[right[c]] = c;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package sch.sudoku.solver;
+
+import lombok.Builder;
+import sch.sudoku.model.View;
+
+/**
+ * A move suggested by a {@link HintSession}: place {@code value} at {@code index}.
+ */
+@lombok.Value
+@Builder
+public class Hint {
+
+    public enum Reason {
+        /** the cell has no other candidate */
+        NAKED_SINGLE,
+        /** the value has no other place in {@code view} */
+        HIDDEN_SINGLE,
+        /** no single is left; the value is taken from the solution */
+        SOLUTION
+    }
+
+    private final int index;
+    private final int value;
+    private final Reason reason;
+    /** the view the hidden single was found in, {@code null} otherwise */
+    private final View view;
+}
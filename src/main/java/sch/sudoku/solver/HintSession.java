@@ -0,0 +1,243 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.Model;
+import sch.sudoku.model.ModelListener;
+import sch.sudoku.model.Topology;
+import sch.sudoku.model.View;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Answers questions about a model while it is being edited, e.g. by a user typing digits. The session listens to
+ * the model and keeps a solution of the current grid as long as the edits agree with it: a placement that matches
+ * the solution or an undo costs a few comparisons, only a placement that contradicts it makes the next question
+ * solve again, on a private copy of the grid.
+ * <p>
+ * What is known is tracked per depth of the model's undo trail: a solution of a grid also solves every grid on the
+ * trail below it, a grid without solution keeps having none as digits are added, and so on. Edit the model only
+ * through {@code set}, {@code undo} and {@code rollback} while the session is open; after {@code load} or solving
+ * the model directly call {@link #reset()}.
+ */
+public class HintSession implements AutoCloseable {
+    private static final int UNKNOWN = Integer.MAX_VALUE;
+
+    private final Model model;
+    private final Topology topology;
+    private final ModelListener previous;
+    private final Model scratch;
+    private final byte[] cells;
+
+    private byte[] solution;
+    /** {@link #solution} solves the grids up to this depth, {@code -1} if there is none */
+    private int solvedDepth;
+    /** the grids from this depth on have no solution */
+    private int unsolvableDepth;
+    /** the grids from this depth on have exactly one solution */
+    private int uniqueDepth;
+    /** the grids up to this depth have more than one solution, {@code -1} if unknown */
+    private int ambiguousDepth;
+
+    public HintSession(Model model) {
+        this.model = Objects.requireNonNull(model, "model is null");
+        this.topology = model.getTopology();
+        this.previous = model.getListener();
+        this.scratch = Model.empty(topology);
+        this.cells = new byte[topology.getCellCount()];
+        model.setListener(new Tracker());
+        reset();
+    }
+
+    /**
+     * Forgets everything known about the model and solves it again.
+     */
+    public void reset() {
+        solution = null;
+        solvedDepth = -1;
+        unsolvableDepth = UNKNOWN;
+        uniqueDepth = UNKNOWN;
+        ambiguousDepth = -1;
+        isSolvable();
+    }
+
+    /**
+     * Stops listening to the model and hands its changes back to the listener it had before.
+     */
+    @Override
+    public void close() {
+        model.setListener(previous);
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * @return whether the current grid can still be completed
+     */
+    public boolean isSolvable() {
+        int depth = model.getDepth();
+        if (solvedDepth >= depth) {
+            return true;
+        }
+        if (unsolvableDepth <= depth) {
+            return false;
+        }
+        load();
+        if (new PropagatingSearch(scratch, SolverListener.NONE).search()) {
+            solution = new byte[cells.length];
+            scratch.copyTo(solution);
+            solvedDepth = depth;
+            return true;
+        }
+        unsolvableDepth = depth;
+        return false;
+    }
+
+    /**
+     * @return whether the current grid has exactly one solution; the search stops at the second
+     */
+    public boolean isUnique() {
+        int depth = model.getDepth();
+        if (!isSolvable() || ambiguousDepth >= depth) {
+            return false;
+        }
+        if (uniqueDepth <= depth) {
+            return true;
+        }
+        load();
+        if (1 == new PropagatingSearch(scratch, SolverListener.NONE).count(2)) {
+            uniqueDepth = depth;
+            return true;
+        }
+        ambiguousDepth = depth;
+        return false;
+    }
+
+    /**
+     * @return whether placing {@code value} at {@code index} leaves a grid that can still be completed; for a
+     * filled cell whether it already holds {@code value} and the grid can be completed
+     */
+    public boolean isConsistent(int index, int value) {
+        if (index < 0 || cells.length <= index) {
+            throw new IllegalArgumentException("index: " + index);
+        }
+        if (value < 1 || topology.getSize() < value) {
+            throw new IllegalArgumentException("value: " + value);
+        }
+        if (!isSolvable()) {
+            return false;
+        }
+        int digit = model.getDigit(index);
+        if (0 != digit) {
+            return digit == value;
+        }
+        if (solution[index] == value) {
+            return true;
+        }
+        if (0 == (model.getCandidates(index) & 1 << value) || isUnique()) {
+            return false;
+        }
+        load();
+        scratch.set(index, value);
+        return new PropagatingSearch(scratch, SolverListener.NONE).search();
+    }
+
+    /**
+     * @return the easiest next move: a naked single, else a hidden single, else the value of the solution for the
+     * empty cell with the fewest candidates; {@code null} if the grid is solved or cannot be completed
+     */
+    public Hint nextHint() {
+        if (model.isSolved() || !isSolvable()) {
+            return null;
+        }
+        int fewest = -1;
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (0 != model.getDigit(cell)) {
+                continue;
+            }
+            int candidates = model.getCandidates(cell);
+            if (0 == (candidates & candidates - 1)) {
+                return Hint.builder().index(cell).value(Integer.numberOfTrailingZeros(candidates))
+                        .reason(Hint.Reason.NAKED_SINGLE).build();
+            }
+            if (fewest < 0 || Integer.bitCount(candidates) < Integer.bitCount(model.getCandidates(fewest))) {
+                fewest = cell;
+            }
+        }
+        for (View view : model.getViews()) {
+            int once = 0;
+            int twice = 0;
+            for (int i = 0; i < topology.getSize(); i++) {
+                int candidates = model.getCandidates(view.getModelIndex(i));
+                twice |= once & candidates;
+                once |= candidates;
+            }
+            int singles = view.getMissingMask() & once & ~twice;
+            if (0 != singles) {
+                int digit = Integer.numberOfTrailingZeros(singles);
+                for (int i = 0; i < topology.getSize(); i++) {
+                    int cell = view.getModelIndex(i);
+                    if (0 != (model.getCandidates(cell) & 1 << digit)) {
+                        return Hint.builder().index(cell).value(digit).reason(Hint.Reason.HIDDEN_SINGLE).view(view)
+                                .build();
+                    }
+                }
+            }
+        }
+        return Hint.builder().index(fewest).value(solution[fewest]).reason(Hint.Reason.SOLUTION).build();
+    }
+
+    /**
+     * @return the filled cells, in ascending order, that hold the same digit as one of their peers or, when the grid
+     * cannot be completed, a different digit than the last solution known for the grid before the mistake
+     */
+    public int[] getConflicts() {
+        boolean solvable = isSolvable();
+        int[] conflicts = new int[cells.length];
+        int count = 0;
+        for (int cell = 0; cell < cells.length; cell++) {
+            int digit = model.getDigit(cell);
+            if (0 == digit) {
+                continue;
+            }
+            boolean conflict = !solvable && null != solution && solution[cell] != digit;
+            for (int i = 0; i < topology.getPeerCount(cell) && !conflict; i++) {
+                conflict = digit == model.getDigit(topology.getPeer(cell, i));
+            }
+            if (conflict) {
+                conflicts[count++] = cell;
+            }
+        }
+        return Arrays.copyOf(conflicts, count);
+    }
+
+    private void load() {
+        model.copyTo(cells);
+        scratch.load(cells);
+    }
+
+    private class Tracker implements ModelListener {
+
+        @Override
+        public void placed(int index, int value, int depth) {
+            if (solvedDepth == depth - 1 && solution[index] == value) {
+                solvedDepth = depth;
+            }
+            previous.placed(index, value, depth);
+        }
+
+        @Override
+        public void undone(int index, int depth) {
+            solvedDepth = Math.min(solvedDepth, depth);
+            ambiguousDepth = Math.min(ambiguousDepth, depth);
+            if (unsolvableDepth > depth) {
+                unsolvableDepth = UNKNOWN;
+            }
+            if (uniqueDepth > depth) {
+                uniqueDepth = UNKNOWN;
+            }
+            previous.undone(index, depth);
+        }
+    }
+}
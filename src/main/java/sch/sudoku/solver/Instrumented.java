@@ -0,0 +1,22 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.Model;
+import sch.sudoku.model.ModelListener;
+
+final class Instrumented {
+
+    private Instrumented() {
+    }
+
+    static void run(Model model, SolverListener listener, Runnable search) {
+        ModelListener previous = model.getListener();
+        model.setListener(listener);
+        listener.started();
+        try {
+            search.run();
+        } finally {
+            model.setListener(previous);
+            listener.finished(model.isSolved());
+        }
+    }
+}
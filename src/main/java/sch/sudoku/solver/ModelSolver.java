@@ -0,0 +1,30 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.Model;
+
+/**
+ * Common contract of the solving engines: fills all empty cells of the given model in place.
+ */
+public interface ModelSolver {
+
+    default void solveModel(Model model) {
+        solveModel(model, SolverListener.NONE);
+    }
+
+    /**
+     * Solves the model while reporting into the given listener, which is also attached to the model for the
+     * duration of the call.
+     *
+     * @throws UnsolvableException if the model has no solution
+     */
+    void solveModel(Model model, SolverListener listener);
+
+    /**
+     * Solves the model within the given limits. Rather than throwing or running unbounded the outcome is
+     * returned; unless solved the model is left as it was.
+     */
+    default SolveResult solve(Model model, SolveLimits limits) {
+        Budget budget = new Budget(limits);
+        return budget.run(model, () -> solveModel(model, budget));
+    }
+}
@@ -0,0 +1,108 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.Model;
+
+import java.util.Arrays;
+
+/**
+ * Bounded ring of learned nogoods: small sets of placements that cannot be part of any solution. Once full, the
+ * oldest nogood is overwritten. Each placement is packed as {@code cell << 5 | value}, which also indexes chains
+ * of the nogoods containing it, so a lookup only visits candidates.
+ */
+final class NogoodStore {
+    /** longer nogoods rarely match again and are not kept */
+    static final int MAX_SIZE = 4;
+
+    private final int[][] nogoods;
+    private final int[] sizes;
+    private final int[] heads;
+    private final int[] nexts;
+    private int next;
+    private long learned;
+    private long hits;
+
+    NogoodStore(int capacity, int cells) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        nogoods = new int[capacity][MAX_SIZE];
+        sizes = new int[capacity];
+        heads = new int[cells << 5];
+        Arrays.fill(heads, -1);
+        nexts = new int[capacity * MAX_SIZE];
+    }
+
+    /**
+     * Stores the placements of the given cells; nothing is stored for more than {@link #MAX_SIZE} of them.
+     */
+    void learn(int[] cells, int[] values, int size) {
+        if (0 == size || MAX_SIZE < size) {
+            return;
+        }
+        for (int i = 0; i < sizes[next]; i++) {
+            unlink(next * MAX_SIZE + i, nogoods[next][i]);
+        }
+        for (int i = 0; i < size; i++) {
+            int placement = cells[i] << 5 | values[i];
+            nogoods[next][i] = placement;
+            nexts[next * MAX_SIZE + i] = heads[placement];
+            heads[placement] = next * MAX_SIZE + i;
+        }
+        sizes[next] = size;
+        next = (next + 1) % nogoods.length;
+        learned++;
+    }
+
+    /**
+     * @return a nogood that contains the placement and whose other placements all hold in the model, {@code -1} if
+     * there is none
+     */
+    int find(Model model, int cell, int value) {
+        for (int entry = heads[cell << 5 | value]; entry >= 0; entry = nexts[entry]) {
+            int nogood = entry / MAX_SIZE;
+            if (holds(model, nogood)) {
+                hits++;
+                return nogood;
+            }
+        }
+        return -1;
+    }
+
+    private boolean holds(Model model, int nogood) {
+        for (int i = 0; i < sizes[nogood]; i++) {
+            int placement = nogoods[nogood][i];
+            if (model.getDigit(placement >>> 5) != (placement & 31)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void unlink(int entry, int placement) {
+        if (heads[placement] == entry) {
+            heads[placement] = nexts[entry];
+            return;
+        }
+        int previous = heads[placement];
+        while (nexts[previous] != entry) {
+            previous = nexts[previous];
+        }
+        nexts[previous] = nexts[entry];
+    }
+
+    int getSize(int nogood) {
+        return sizes[nogood];
+    }
+
+    int getCell(int nogood, int i) {
+        return nogoods[nogood][i] >>> 5;
+    }
+
+    long getLearned() {
+        return learned;
+    }
+
+    long getHits() {
+        return hits;
+    }
+}
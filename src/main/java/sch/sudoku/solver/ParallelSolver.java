@@ -0,0 +1,151 @@
+package sch.sudoku.solver;
+
+import lombok.Builder;
+import lombok.Getter;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Solves a single model on a fork join pool. The propagating search is split at the first {@code splitDepth}
+ * branching levels into independent subtrees, each working on its own copy of the grid; the first solution found
+ * cancels all remaining subtrees. An optional {@link TranspositionTable} is shared by all subtrees, so a dead end one
+ * of them refuted is pruned in the others.
+ */
+@Getter
+public class ParallelSolver implements ModelSolver {
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+    private final TranspositionTable table;
+
+    /**
+     * @param table failed grids shared by the subtrees and by later solves, {@code null} for none
+     */
+    @Builder
+    ParallelSolver(ForkJoinPool pool, int splitDepth, TranspositionTable table) {
+        this.pool = null == pool ? ForkJoinPool.commonPool() : pool;
+        this.splitDepth = splitDepth > 0
+                ? splitDepth
+                : 32 - Integer.numberOfLeadingZeros(4 * this.pool.getParallelism());
+        this.table = table;
+    }
+
+    /**
+     * Reports start and end of the solve only; the subtree searches run on other threads and do not report
+     * into the listener.
+     */
+    @Override
+    public void solveModel(Model model, SolverListener listener) {
+        Instrumented.run(model, listener, () -> solve(model, () -> false));
+    }
+
+    /**
+     * Honours deadline and cancellation in all subtrees; the guess and backtrack budgets are not counted as the
+     * subtrees do not report.
+     */
+    @Override
+    public SolveResult solve(Model model, SolveLimits limits) {
+        Budget budget = new Budget(limits);
+        return budget.run(model, () -> Instrumented.run(model, budget, () -> solve(model, budget::isExhausted)));
+    }
+
+    private void solve(Model model, BooleanSupplier stopped) {
+        byte[] cells = new byte[model.getCellCount()];
+        model.copyTo(cells);
+
+        Search search = new Search(model.getTopology(), stopped);
+        byte[] solution = getPool().invoke(search.new Subtree(cells, 0));
+        if (null == solution) {
+            throw new UnsolvableException();
+        }
+        for (int i = 0; i < cells.length; i++) {
+            if (0 == model.getDigit(i)) {
+                model.set(i, solution[i]);
+            }
+        }
+    }
+
+    private class Search {
+        private final AtomicBoolean found = new AtomicBoolean();
+        private final ThreadLocal<Model> models;
+        private final BooleanSupplier stopped;
+
+        Search(Topology topology, BooleanSupplier stopped) {
+            models = ThreadLocal.withInitial(() -> Model.empty(topology));
+            this.stopped = stopped;
+        }
+
+        private boolean isStopped() {
+            return found.get() || stopped.getAsBoolean();
+        }
+
+        private class Subtree extends RecursiveTask<byte[]> {
+            private static final long serialVersionUID = 1L;
+
+            private final byte[] cells;
+            private final int depth;
+
+            Subtree(byte[] cells, int depth) {
+                this.cells = cells;
+                this.depth = depth;
+            }
+
+            @Override
+            protected byte[] compute() {
+                if (isStopped()) {
+                    return null;
+                }
+                Model model = models.get();
+                model.load(cells);
+                PropagatingSearch search = new PropagatingSearch(model, SolverListener.NONE, Search.this::isStopped,
+                        getTable());
+
+                if (depth >= getSplitDepth()) {
+                    return search.search() ? solved(model) : null;
+                }
+                if (!search.propagate()) {
+                    return null;
+                }
+                if (model.isSolved()) {
+                    return solved(model);
+                }
+
+                int cell = search.selectCell();
+                List<Subtree> subtrees = new ArrayList<>();
+                for (int candidates = model.getCandidates(cell); 0 != candidates; candidates &= candidates - 1) {
+                    byte[] child = new byte[cells.length];
+                    model.copyTo(child);
+                    child[cell] = (byte) Integer.numberOfTrailingZeros(candidates);
+                    subtrees.add(new Subtree(child, depth + 1));
+                }
+                for (int i = subtrees.size() - 1; i > 0; i--) {
+                    subtrees.get(i).fork();
+                }
+                byte[] solution = subtrees.get(0).compute();
+                for (int i = 1; i < subtrees.size(); i++) {
+                    if (null == solution) {
+                        solution = subtrees.get(i).join();
+                    } else {
+                        subtrees.get(i).cancel(false);
+                    }
+                }
+                return solution;
+            }
+
+            private byte[] solved(Model model) {
+                if (!found.compareAndSet(false, true)) {
+                    return null;
+                }
+                byte[] solution = new byte[cells.length];
+                model.copyTo(solution);
+                return solution;
+            }
+        }
+    }
+}
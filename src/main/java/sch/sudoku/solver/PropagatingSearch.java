@@ -0,0 +1,207 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.Model;
+import sch.sudoku.model.View;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Depth first search that applies naked and hidden singles over all views until nothing changes and only then
+ * branches, always on the empty cell with the fewest candidates. With a {@link TranspositionTable} a grid left after
+ * propagation is looked up before branching and recorded once all its branches failed, so a dead end reached again
+ * through other guesses, or in another solve sharing the table, is cut off at once.
+ */
+class PropagatingSearch {
+    private final Model model;
+    private final List<? extends View> views;
+    private final SolverListener listener;
+    private final BooleanSupplier cancelled;
+    private final TranspositionTable table;
+    private final int size;
+    private final int cells;
+    private long nodes;
+
+    PropagatingSearch(Model model, SolverListener listener) {
+        this(model, listener, () -> false);
+    }
+
+    PropagatingSearch(Model model, SolverListener listener, BooleanSupplier cancelled) {
+        this(model, listener, cancelled, null);
+    }
+
+    /**
+     * @param table failed grids to look up and add to, {@code null} for none
+     */
+    PropagatingSearch(Model model, SolverListener listener, BooleanSupplier cancelled, TranspositionTable table) {
+        this.model = model;
+        this.views = model.getViews();
+        this.listener = listener;
+        this.cancelled = cancelled;
+        this.table = table;
+        this.size = model.getSize();
+        this.cells = model.getCellCount();
+    }
+
+    void solve() {
+        int mark = model.getDepth();
+        if (!search()) {
+            model.rollback(mark);
+            throw new UnsolvableException();
+        }
+    }
+
+    boolean search() {
+        if (cancelled.getAsBoolean() || !propagate()) {
+            return false;
+        }
+        if (model.isSolved()) {
+            return true;
+        }
+        if (null != table && table.isFailed(model.getHash())) {
+            return false;
+        }
+        long start = nodes;
+        int cell = selectCell();
+        int mark = model.getDepth();
+        for (int candidates = model.getCandidates(cell); 0 != candidates; candidates &= candidates - 1) {
+            nodes++;
+            listener.guessed();
+            model.set(cell, Integer.numberOfTrailingZeros(candidates));
+            if (search()) {
+                return true;
+            }
+            listener.backtracked();
+            model.rollback(mark);
+        }
+        recordFailure(start);
+        return false;
+    }
+
+    /**
+     * Records the grid as failed unless the search was cancelled, in which case its branches were not all tried.
+     */
+    private void recordFailure(long start) {
+        if (null != table && !cancelled.getAsBoolean()) {
+            table.recordFailure(model.getHash(), nodes - start);
+        }
+    }
+
+    /**
+     * Counts the solutions of the model but stops at {@code limit}; the model is left as it was.
+     */
+    long count(long limit) {
+        int mark = model.getDepth();
+        try {
+            return countFrom(limit);
+        } finally {
+            model.rollback(mark);
+        }
+    }
+
+    private long countFrom(long limit) {
+        if (cancelled.getAsBoolean() || !propagate()) {
+            return 0;
+        }
+        if (model.isSolved()) {
+            return 1;
+        }
+        if (null != table && table.isFailed(model.getHash())) {
+            return 0;
+        }
+        long start = nodes;
+        int cell = selectCell();
+        int mark = model.getDepth();
+        long count = 0;
+        for (int candidates = model.getCandidates(cell); 0 != candidates && count < limit;
+             candidates &= candidates - 1) {
+            nodes++;
+            listener.guessed();
+            model.set(cell, Integer.numberOfTrailingZeros(candidates));
+            count += countFrom(limit - count);
+            listener.backtracked();
+            model.rollback(mark);
+        }
+        if (0 == count) {
+            recordFailure(start);
+        }
+        return count;
+    }
+
+    boolean propagate() {
+        if (!model.isValid()) {
+            return false;
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int cell = 0; cell < cells; cell++) {
+                if (0 != model.getDigit(cell)) {
+                    continue;
+                }
+                int candidates = model.getCandidates(cell);
+                if (0 == candidates) {
+                    return false;
+                }
+                if (0 == (candidates & candidates - 1)) {
+                    listener.propagated();
+                    model.set(cell, Integer.numberOfTrailingZeros(candidates));
+                    changed = true;
+                }
+            }
+            for (View view : views) {
+                int missing = view.getMissingMask();
+                if (0 == missing) {
+                    continue;
+                }
+                int once = 0;
+                int twice = 0;
+                for (int i = 0; i < size; i++) {
+                    int candidates = model.getCandidates(view.getModelIndex(i));
+                    twice |= once & candidates;
+                    once |= candidates;
+                }
+                if (0 != (missing & ~once)) {
+                    return false;
+                }
+                for (int singles = missing & ~twice; 0 != singles; singles &= singles - 1) {
+                    int digit = Integer.numberOfTrailingZeros(singles);
+                    int cell = findCandidate(view, digit);
+                    if (cell < 0) {
+                        return false;
+                    }
+                    listener.propagated();
+                    model.set(cell, digit);
+                    changed = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    private int findCandidate(View view, int digit) {
+        for (int i = 0; i < size; i++) {
+            int cell = view.getModelIndex(i);
+            if (0 != (model.getCandidates(cell) & 1 << digit)) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    int selectCell() {
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int cell = 0; cell < cells && bestCount > 2; cell++) {
+            if (0 != model.getDigit(cell)) {
+                continue;
+            }
+            int count = Integer.bitCount(model.getCandidates(cell));
+            if (count < bestCount) {
+                best = cell;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+}
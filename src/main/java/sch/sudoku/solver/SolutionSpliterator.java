@@ -0,0 +1,129 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.Model;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Enumerates the solutions of a grid lazily with an explicit stack of branching frames, so each
+ * {@link #tryAdvance(Consumer)} only searches up to the next solution. Every frame keeps the grid it branched
+ * from, which lets {@link #trySplit()} hand half of the untried candidates of the shallowest open frame to a new
+ * spliterator with a model of its own.
+ */
+class SolutionSpliterator implements Spliterator<byte[]> {
+    private final Model model;
+    private final PropagatingSearch search;
+
+    private final byte[][] grids;
+    private final int[] cells;
+    private final int[] candidates;
+    private final int[] marks;
+    private int top = -1;
+    private boolean expand;
+
+    SolutionSpliterator(Model model) {
+        this(model, null, -1, 0);
+    }
+
+    private SolutionSpliterator(Model source, byte[] grid, int cell, int candidates) {
+        model = Model.empty(source.getTopology());
+        int cellCount = model.getCellCount();
+        if (null == grid) {
+            grid = new byte[cellCount];
+            source.copyTo(grid);
+        }
+        model.load(grid);
+        search = new PropagatingSearch(model, SolverListener.NONE);
+        grids = new byte[cellCount + 1][];
+        cells = new int[cellCount + 1];
+        this.candidates = new int[cellCount + 1];
+        marks = new int[cellCount + 1];
+        if (cell < 0) {
+            expand = true;
+        } else {
+            push(grid, cell, candidates);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super byte[]> action) {
+        while (true) {
+            if (expand) {
+                expand = false;
+                if (search.propagate()) {
+                    if (model.isSolved()) {
+                        byte[] solution = new byte[model.getCellCount()];
+                        model.copyTo(solution);
+                        action.accept(solution);
+                        return true;
+                    }
+                    branch();
+                }
+            }
+            if (top < 0) {
+                return false;
+            }
+            if (0 == candidates[top]) {
+                model.rollback(marks[top--]);
+                continue;
+            }
+            int digit = Integer.numberOfTrailingZeros(candidates[top]);
+            candidates[top] &= candidates[top] - 1;
+            model.rollback(marks[top]);
+            model.set(cells[top], digit);
+            expand = true;
+        }
+    }
+
+    private void branch() {
+        int cell = search.selectCell();
+        byte[] grid = new byte[model.getCellCount()];
+        model.copyTo(grid);
+        push(grid, cell, model.getCandidates(cell));
+    }
+
+    private void push(byte[] grid, int cell, int candidates) {
+        top++;
+        grids[top] = grid;
+        cells[top] = cell;
+        this.candidates[top] = candidates;
+        marks[top] = model.getDepth();
+    }
+
+    @Override
+    public Spliterator<byte[]> trySplit() {
+        if (expand && 0 > top) {
+            expand = false;
+            if (!search.propagate() || model.isSolved()) {
+                expand = true;
+                return null;
+            }
+            branch();
+        }
+        for (int i = 0; i <= top; i++) {
+            int open = Integer.bitCount(candidates[i]);
+            if (open > 1) {
+                int kept = 0;
+                int rest = candidates[i];
+                for (int j = (open + 1) / 2; j > 0; j--) {
+                    kept |= rest & -rest;
+                    rest &= rest - 1;
+                }
+                candidates[i] = kept;
+                return new SolutionSpliterator(model, grids[i], cells[i], rest);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL | IMMUTABLE;
+    }
+}
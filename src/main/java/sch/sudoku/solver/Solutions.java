@@ -0,0 +1,54 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.Model;
+
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Counts and enumerates the solutions of a model with the propagating search. None of the methods change the
+ * given model.
+ */
+public final class Solutions {
+
+    private Solutions() {
+    }
+
+    /**
+     * Counts the solutions of the model, stopping the search as soon as {@code limit} of them are found.
+     *
+     * @return the number of solutions, at most {@code limit}; {@code 0} if the model has no solution
+     */
+    public static long count(Model model, long limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit: " + limit);
+        }
+        return new PropagatingSearch(model, SolverListener.NONE).count(limit);
+    }
+
+    /**
+     * @return whether the model has exactly one solution; the search stops at the second
+     */
+    public static boolean isUnique(Model model) {
+        return 1 == count(model, 2);
+    }
+
+    /**
+     * @return the solutions as grids of digits, found lazily one by one
+     */
+    public static Stream<byte[]> stream(Model model) {
+        return StreamSupport.stream(spliterator(model), false);
+    }
+
+    /**
+     * @return the solutions as a parallel stream, the workers splitting open branches of the search between them
+     */
+    public static Stream<byte[]> parallelStream(Model model) {
+        return StreamSupport.stream(spliterator(model), true);
+    }
+
+    public static Spliterator<byte[]> spliterator(Model model) {
+        return new SolutionSpliterator(model);
+    }
+}
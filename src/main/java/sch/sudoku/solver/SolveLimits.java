@@ -0,0 +1,24 @@
+package sch.sudoku.solver;
+
+import lombok.Builder;
+
+import java.time.Duration;
+
+/**
+ * Bounds of a {@link ModelSolver#solve(sch.sudoku.model.Model, SolveLimits) bounded solve}; a zero count is no
+ * bound, as is a missing timeout, while a zero or negative timeout has passed before the solve starts.
+ */
+@lombok.Value
+@Builder
+public class SolveLimits {
+    public static final SolveLimits NONE = builder().build();
+
+    /** wall clock time the solve may take, {@code null} for no timeout */
+    private final Duration timeout;
+    /** number of guesses, i.e. nodes of the search tree, the solve may try */
+    private final long maxGuesses;
+    /** number of backtracks, i.e. guesses taken back, the solve may make */
+    private final long maxBacktracks;
+    /** lets another thread stop the solve */
+    private final CancellationToken cancellation;
+}
@@ -0,0 +1,72 @@
+package sch.sudoku.solver;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Counters of a single solve. Not thread safe: use one instance per thread and {@link #reset()} it between solves,
+ * or feed the results into a {@link SolveStatistics}.
+ */
+@Getter
+@ToString(exclude = "startNanos")
+public class SolveMetrics implements SolverListener {
+    private long guesses;
+    private long backtracks;
+    private long propagations;
+    private long validityChecks;
+    private long placements;
+    private int peakDepth;
+    private long elapsedNanos;
+    private boolean solved;
+
+    private long startNanos;
+
+    public void reset() {
+        guesses = 0;
+        backtracks = 0;
+        propagations = 0;
+        validityChecks = 0;
+        placements = 0;
+        peakDepth = 0;
+        elapsedNanos = 0;
+        solved = false;
+    }
+
+    @Override
+    public void started() {
+        reset();
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void guessed() {
+        guesses++;
+    }
+
+    @Override
+    public void backtracked() {
+        backtracks++;
+    }
+
+    @Override
+    public void propagated() {
+        propagations++;
+    }
+
+    @Override
+    public void validityChecked() {
+        validityChecks++;
+    }
+
+    @Override
+    public void placed(int index, int value, int depth) {
+        placements++;
+        peakDepth = Math.max(peakDepth, depth);
+    }
+
+    @Override
+    public void finished(boolean solved) {
+        this.solved = solved;
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+}
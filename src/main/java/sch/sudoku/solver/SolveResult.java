@@ -0,0 +1,26 @@
+package sch.sudoku.solver;
+
+/**
+ * Outcome of a {@link ModelSolver#solve(sch.sudoku.model.Model, SolveLimits) bounded solve} together with the
+ * counters of the work done, also when the solve was stopped.
+ */
+@lombok.Value
+public class SolveResult {
+
+    public enum Status {
+        SOLVED,
+        /** the search space was exhausted without a solution */
+        UNSOLVABLE,
+        /** the guess or backtrack budget ran out */
+        BUDGET_EXHAUSTED,
+        DEADLINE_EXCEEDED,
+        CANCELLED
+    }
+
+    private final Status status;
+    private final SolveMetrics metrics;
+
+    public boolean isSolved() {
+        return Status.SOLVED == status;
+    }
+}
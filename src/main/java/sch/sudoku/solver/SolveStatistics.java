@@ -0,0 +1,119 @@
+package sch.sudoku.solver;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe aggregate of many {@link SolveMetrics}, e.g. of a batch run: totals, maxima and a histogram of the
+ * elapsed time per solve with power of two buckets.
+ */
+public class SolveStatistics {
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder unsolved = new LongAdder();
+    private final LongAdder guesses = new LongAdder();
+    private final LongAdder backtracks = new LongAdder();
+    private final LongAdder propagations = new LongAdder();
+    private final LongAdder elapsedNanos = new LongAdder();
+    private final LongAccumulator maxGuesses = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxBacktracks = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxPeakDepth = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxElapsedNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(64);
+
+    public void record(SolveMetrics metrics) {
+        solves.increment();
+        if (!metrics.isSolved()) {
+            unsolved.increment();
+        }
+        guesses.add(metrics.getGuesses());
+        backtracks.add(metrics.getBacktracks());
+        propagations.add(metrics.getPropagations());
+        elapsedNanos.add(metrics.getElapsedNanos());
+        maxGuesses.accumulate(metrics.getGuesses());
+        maxBacktracks.accumulate(metrics.getBacktracks());
+        maxPeakDepth.accumulate(metrics.getPeakDepth());
+        maxElapsedNanos.accumulate(metrics.getElapsedNanos());
+        histogram.incrementAndGet(bucket(metrics.getElapsedNanos()));
+    }
+
+    private static int bucket(long nanos) {
+        return 63 - Long.numberOfLeadingZeros(Math.max(1, nanos));
+    }
+
+    public long getSolves() {
+        return solves.sum();
+    }
+
+    public long getUnsolved() {
+        return unsolved.sum();
+    }
+
+    public long getGuesses() {
+        return guesses.sum();
+    }
+
+    public long getBacktracks() {
+        return backtracks.sum();
+    }
+
+    public long getPropagations() {
+        return propagations.sum();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos.sum();
+    }
+
+    public long getMaxGuesses() {
+        return maxGuesses.get();
+    }
+
+    public long getMaxBacktracks() {
+        return maxBacktracks.get();
+    }
+
+    public long getMaxPeakDepth() {
+        return maxPeakDepth.get();
+    }
+
+    public long getMaxElapsedNanos() {
+        return maxElapsedNanos.get();
+    }
+
+    /**
+     * @return number of solves whose elapsed time {@code t} satisfies {@code 2^bucket <= t < 2^(bucket + 1)} nanos
+     */
+    public long getHistogramCount(int bucket) {
+        return histogram.get(bucket);
+    }
+
+    /**
+     * @return upper bound of the elapsed nanos of the given fraction ({@code 0.99} for p99) of all solves
+     */
+    public long getElapsedNanosPercentile(double fraction) {
+        long total = getSolves();
+        long threshold = (long) Math.ceil(fraction * total);
+        long count = 0;
+        for (int bucket = 0; bucket < 64; bucket++) {
+            count += histogram.get(bucket);
+            if (count >= threshold && count > 0) {
+                return bucket == 63 ? Long.MAX_VALUE : (1L << (bucket + 1)) - 1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SolveStatistics(solves=" + getSolves()
+                + ", unsolved=" + getUnsolved()
+                + ", guesses=" + getGuesses()
+                + ", backtracks=" + getBacktracks()
+                + ", propagations=" + getPropagations()
+                + ", maxPeakDepth=" + getMaxPeakDepth()
+                + ", p50Nanos<=" + getElapsedNanosPercentile(0.5)
+                + ", p99Nanos<=" + getElapsedNanosPercentile(0.99)
+                + ", maxNanos=" + getMaxElapsedNanos() + ")";
+    }
+}
@@ -3,79 +3,228 @@ package sch.sudoku.solver;
 import lombok.AccessLevel;
 import lombok.Getter;
 import sch.sudoku.model.Model;
-import sch.sudoku.model.Value;
 import sch.sudoku.model.View;
 
 import java.util.Deque;
-import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
-public class Solver {
+public class Solver implements ModelSolver {
+
+    public enum Strategy {
+        /** trial and error over the views handed out by the view selector */
+        BACKTRACKING,
+        /** naked and hidden singles until a fixpoint, branching on the cell with the fewest candidates */
+        PROPAGATION,
+        /** trial and error over the view first in a {@link ViewScheduler} */
+        SCHEDULED,
+        /** like {@link #SCHEDULED}, but jumping back to the cause of a conflict, see {@link Backjumping} */
+        BACKJUMPING
+    }
+
+    @Getter
+    private final Strategy strategy;
 
     @Getter(AccessLevel.PRIVATE)
     private final Function<Deque<? extends View>, View> viewSelector;
 
+    @Getter(AccessLevel.PRIVATE)
+    private final ViewScheduler.Key schedulerKey;
+
+    /** capacity of the nogood store of {@link Strategy#BACKJUMPING}, {@code 0} for none */
+    @Getter
+    private final int nogoodCapacity;
+
+    /** failed grids shared by the solves of {@link Strategy#PROPAGATION}, {@code null} for none */
+    @Getter
+    private final TranspositionTable table;
+
     public static Solver processFirst() {
         return new Solver(Deque::peek);
     }
 
+    public static Solver propagating() {
+        return new Solver(Strategy.PROPAGATION);
+    }
+
+    /**
+     * @param table failed grids to prune with and to record into, may be shared with other solvers and threads
+     */
+    public static Solver propagating(TranspositionTable table) {
+        return new Solver(Strategy.PROPAGATION, Deque::peek, ViewScheduler.Key.EMPTY_CELLS, 0,
+                Objects.requireNonNull(table, "table is null"));
+    }
+
+    /**
+     * @return a backtracking solver that always fills the view with the fewest empty cells
+     */
+    public static Solver fewestMissingFirst() {
+        return new Solver(Strategy.SCHEDULED, Deque::peek, ViewScheduler.Key.EMPTY_CELLS);
+    }
+
+    /**
+     * @return a backtracking solver that always fills the view with the fewest candidates over its empty cells
+     */
+    public static Solver fewestCandidatesFirst() {
+        return new Solver(Strategy.SCHEDULED, Deque::peek, ViewScheduler.Key.CANDIDATES);
+    }
+
+    /**
+     * @return a backtracking solver that fills the view with the fewest empty cells first and on a conflict jumps
+     * back to the placement that caused it
+     */
+    public static Solver backjumping() {
+        return backjumping(0);
+    }
+
+    /**
+     * @param nogoods how many learned nogoods to keep
+     */
+    public static Solver backjumping(int nogoods) {
+        if (nogoods < 0) {
+            throw new IllegalArgumentException("nogoods: " + nogoods);
+        }
+        return new Solver(Strategy.BACKJUMPING, Deque::peek, ViewScheduler.Key.EMPTY_CELLS, nogoods);
+    }
+
     public Solver() {
         this(Deque::peek);
     }
 
     public Solver(Function<Deque<? extends View>, View> viewSelector) {
+        this(Strategy.BACKTRACKING, viewSelector);
+    }
+
+    public Solver(Strategy strategy) {
+        this(strategy, Deque::peek);
+    }
+
+    private Solver(Strategy strategy, Function<Deque<? extends View>, View> viewSelector) {
+        this(strategy, viewSelector, ViewScheduler.Key.EMPTY_CELLS);
+    }
+
+    private Solver(Strategy strategy, Function<Deque<? extends View>, View> viewSelector,
+                   ViewScheduler.Key schedulerKey) {
+        this(strategy, viewSelector, schedulerKey, 0);
+    }
+
+    private Solver(Strategy strategy, Function<Deque<? extends View>, View> viewSelector,
+                   ViewScheduler.Key schedulerKey, int nogoodCapacity) {
+        this(strategy, viewSelector, schedulerKey, nogoodCapacity, null);
+    }
+
+    private Solver(Strategy strategy, Function<Deque<? extends View>, View> viewSelector,
+                   ViewScheduler.Key schedulerKey, int nogoodCapacity, TranspositionTable table) {
+        this.strategy = strategy;
         this.viewSelector = viewSelector;
+        this.schedulerKey = schedulerKey;
+        this.nogoodCapacity = nogoodCapacity;
+        this.table = table;
     }
 
-    public void solveModel(Model model) {
+    @Override
+    public void solveModel(Model model, SolverListener listener) {
+        if (Strategy.PROPAGATION == getStrategy()) {
+            Instrumented.run(model, listener, () -> new PropagatingSearch(model, listener, () -> false, getTable()).solve());
+        } else if (Strategy.SCHEDULED == getStrategy()) {
+            Instrumented.run(model, listener, () -> {
+                ViewScheduler scheduler = new ViewScheduler(model, getSchedulerKey(), listener);
+                model.setListener(scheduler);
+                schedule(model, listener, scheduler);
+            });
+        } else if (Strategy.BACKJUMPING == getStrategy()) {
+            Instrumented.run(model, listener, () -> new Backjumping(model, listener,
+                    0 == getNogoodCapacity() ? null : new NogoodStore(getNogoodCapacity(), model.getCellCount())).solve());
+        } else {
+            Instrumented.run(model, listener, () -> backtrack(model, listener));
+        }
+    }
+
+    private void backtrack(Model model, SolverListener listener) {
         Deque<View> toProcess = new LinkedList<>();
         toProcess.addAll(model.getViews());
 
         while (!model.isSolved()) {
 
+            listener.validityChecked();
             if (model.isValid()) {
                 // forward step
                 View view = getViewSelector().apply(toProcess);
                 if (view.hasMissingValues()) {
+                    listener.guessed();
                     forwardStep(view);
                 } else {
-                    toProcess.remove();
+                    toProcess.remove(view);
                 }
             } else {
-                // back step
-                Value undo = model.undo();
-                while (!forwardStep(undo)) {
-                    undo = model.undo();
-                    if (undo.getView() != toProcess.peek()) {
-                        toProcess.push(undo.getView());
+                backStep(model, listener, view -> {
+                    if (view != toProcess.peek()) {
+                        toProcess.push(view);
                     }
-                }
+                });
             }
         }
     }
 
-    private boolean forwardStep(Value value) {
-        return forwardStep(value.getView(), value.getIndex(), value.getValue().intValue());
+    private void schedule(Model model, SolverListener listener, ViewScheduler scheduler) {
+        while (!model.isSolved()) {
+            listener.validityChecked();
+            if (model.isValid()) {
+                listener.guessed();
+                forwardStep(scheduler.peek());
+            } else {
+                backStep(model, listener, view -> { });
+            }
+        }
     }
 
-    private void forwardStep(View view) {
-        forwardStep(view, 0, 0);
+    /**
+     * Takes back the last move and tries the next value for its cell, taking back further moves as long as their
+     * cells have no value left; each view reopened that way is handed to {@code reopened}.
+     */
+    private void backStep(Model model, SolverListener listener, Consumer<View> reopened) {
+        listener.backtracked();
+        requireMove(model);
+        View view = model.getLastView();
+        int index = model.getLastIndex();
+        int value = model.getLastValue();
+        model.rollback(model.getDepth() - 1);
+        while (!forwardStep(view, index, value)) {
+            listener.backtracked();
+            requireMove(model);
+            view = model.getLastView();
+            index = model.getLastIndex();
+            value = model.getLastValue();
+            model.rollback(model.getDepth() - 1);
+            reopened.accept(view);
+        }
     }
 
-    private boolean forwardStep(View view, int minIndex, int minValue) {
-        List<? extends Value> missingValues = view.getMissingValues();
-        List<? extends Number> missingNumbers = view.getMissingNumbers();
+    private void requireMove(Model model) {
+        if (!model.canUndo()) {
+            throw new UnsolvableException();
+        }
+    }
 
-        missingValues.sort(Value::compareTo);
+    private void forwardStep(View view) {
+        forwardStep(view, 0, 0);
+    }
 
+    /**
+     * Places the next value above {@code minValue} missing in the view into its first empty cell from
+     * {@code minIndex} on.
+     *
+     * @return {@code false} if there is no such cell or value
+     */
+    static boolean forwardStep(View view, int minIndex, int minValue) {
         int lastViewIndex = 0 == minIndex ? 0 : view.toViewIndex(minIndex);
-        Iterator<? extends Number> numberIterator = missingNumbers.stream().filter(n -> n.intValue() > minValue).iterator();
-        Iterator<? extends Value> valueIterator = missingValues.stream().filter(v -> v.getIndex() >= lastViewIndex).iterator();
+        int viewIndex = view.nextMissingIndex(lastViewIndex);
+        int numbers = view.getMissingMask() >>> (minValue + 1);
 
-        if (numberIterator.hasNext() && valueIterator.hasNext()) {
-            view.set(valueIterator.next().getIndex(), numberIterator.next().intValue());
+        if (viewIndex >= 0 && 0 != numbers) {
+            view.set(viewIndex, minValue + 1 + Integer.numberOfTrailingZeros(numbers));
             return true;
         }
         return false;
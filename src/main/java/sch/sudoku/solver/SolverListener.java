@@ -0,0 +1,32 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.ModelListener;
+
+/**
+ * Hooks the solvers report into while solving; the model changes arrive through the {@link ModelListener} part.
+ * All methods default to doing nothing, so {@link #NONE} costs next to nothing on the hot path.
+ */
+public interface SolverListener extends ModelListener {
+    SolverListener NONE = new SolverListener() { };
+
+    default void started() {
+    }
+
+    /** a value was tried without being forced by the current state */
+    default void guessed() {
+    }
+
+    /** a tried value turned out to be wrong and was taken back */
+    default void backtracked() {
+    }
+
+    /** a value was placed because the current state leaves no other choice */
+    default void propagated() {
+    }
+
+    default void validityChecked() {
+    }
+
+    default void finished(boolean solved) {
+    }
+}
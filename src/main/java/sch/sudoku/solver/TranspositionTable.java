@@ -0,0 +1,149 @@
+package sch.sudoku.solver;
+
+import lombok.Builder;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed size table of grids proven to have no solution, keyed by {@link sch.sudoku.model.Model#getHash()}. Whether
+ * a grid can be completed depends on its digits only, so an entry holds for every search over the same topology
+ * instance, no matter in which order the digits were placed or which puzzle they started from.
+ * <p>
+ * The table is lock free and may be shared by searches on any number of threads. Slots are grouped in buckets of
+ * four adjacent {@code long}s; a hash is looked up in the bucket its low bits select. A slot keeps the upper bits of
+ * the hash and, in the low byte the bucket index makes redundant, the cost of the refutation as the log of the
+ * nodes searched. A full bucket replaces its cheapest entry, so expensive refutations outlive cheap ones. Slots are
+ * read and written as a whole without locking; racing stores may lose one of the entries, which only costs a
+ * search that could have been pruned. Two grids sharing all stored bits are taken as one; with at least 56 bits
+ * compared this is left to chance.
+ */
+public class TranspositionTable {
+    static final int MIN_BYTES = 1 << 13;
+    private static final int BUCKET_SIZE = 4;
+    private static final long COST_MASK = 0xFF;
+
+    private final AtomicLongArray slots;
+    private final int bucketMask;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxBytes upper limit of the memory the slots take, rounded down to a power of two; {@code 0} for
+     *                 16 MiB
+     */
+    @Builder
+    TranspositionTable(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes: " + maxBytes);
+        }
+        long bytes = 0 == maxBytes ? 1 << 24 : Math.min(Long.highestOneBit(maxBytes), 1L << 33);
+        if (bytes < MIN_BYTES) {
+            throw new IllegalArgumentException("maxBytes: " + maxBytes);
+        }
+        int capacity = (int) (bytes / Long.BYTES);
+        slots = new AtomicLongArray(capacity);
+        bucketMask = capacity / BUCKET_SIZE - 1;
+    }
+
+    /**
+     * @return {@code true} if the grid of the given hash is known to have no solution
+     */
+    public boolean isFailed(long hash) {
+        probes.increment();
+        long key = hash & ~COST_MASK;
+        int bucket = bucketOf(hash);
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            long slot = slots.get(i);
+            if (0 != slot && key == (slot & ~COST_MASK)) {
+                hits.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records that the grid of the given hash has no solution.
+     *
+     * @param nodes nodes searched to find out, the priority of the entry
+     */
+    public void recordFailure(long hash, long nodes) {
+        long key = hash & ~COST_MASK;
+        long entry = key | Math.min(COST_MASK, 64 - Long.numberOfLeadingZeros(Math.max(1, nodes)));
+        int bucket = bucketOf(hash);
+        int victim = bucket;
+        long victimCost = Long.MAX_VALUE;
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            long slot = slots.get(i);
+            if (0 != slot && key == (slot & ~COST_MASK)) {
+                if ((slot & COST_MASK) < (entry & COST_MASK)) {
+                    slots.set(i, entry);
+                }
+                return;
+            }
+            long cost = 0 == slot ? -1 : slot & COST_MASK;
+            if (cost < victimCost) {
+                victim = i;
+                victimCost = cost;
+            }
+        }
+        if (victimCost >= 0) {
+            evictions.increment();
+        }
+        stores.increment();
+        slots.set(victim, entry);
+    }
+
+    private int bucketOf(long hash) {
+        return (int) (hash & bucketMask) * BUCKET_SIZE;
+    }
+
+    /**
+     * Empties the table, e.g. once the topology its entries belong to is no longer in use; the statistics are kept.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0);
+        }
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * @return stores that replaced an entry of another grid
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return hits per probe, {@code 0} before the first probe
+     */
+    public double getHitRate() {
+        long probes = getProbes();
+        return 0 == probes ? 0 : (double) getHits() / probes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d slots, %d probes, %.1f%% hits, %d stores, %d evictions",
+                getCapacity(), getProbes(), 100 * getHitRate(), getStores(), getEvictions());
+    }
+}
@@ -0,0 +1,14 @@
+package sch.sudoku.solver;
+
+/**
+ * Thrown by {@link ModelSolver#solveModel(sch.sudoku.model.Model, SolverListener)} when the model has no solution.
+ * A bounded solve turns this, and only this, into {@link SolveResult.Status#UNSOLVABLE}; any other exception is a
+ * failure.
+ */
+public class UnsolvableException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    public UnsolvableException() {
+        super("The model has no solution.");
+    }
+}
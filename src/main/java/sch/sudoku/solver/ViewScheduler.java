@@ -0,0 +1,202 @@
+package sch.sudoku.solver;
+
+import sch.sudoku.model.Model;
+import sch.sudoku.model.ModelListener;
+import sch.sudoku.model.Topology;
+import sch.sudoku.model.View;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps the views of a model that still have empty cells in an indexed binary min-heap, so the most constrained
+ * one is at hand in constant time. Installed as the listener of the model it updates the keys of the views a
+ * placement or undo touches, each in {@code O(log n)}, and forwards the change to {@code delegate}.
+ */
+public class ViewScheduler implements ModelListener {
+
+    public enum Key {
+        /** number of empty cells; a placement or undo changes the key of the cell's own views only */
+        EMPTY_CELLS,
+        /**
+         * number of candidates over all empty cells; a change also affects the views of the cell's peers, those
+         * related by cell constraints included
+         */
+        CANDIDATES
+    }
+
+    private final Model model;
+    private final Topology topology;
+    private final List<? extends View> views;
+    private final Key key;
+    private final ModelListener delegate;
+
+    private final int[] heap;
+    private final int[] positions;
+    private final int[] keys;
+    private final int[] visited;
+    private int size;
+    private int visit;
+
+    public ViewScheduler(Model model, Key key, ModelListener delegate) {
+        this.model = Objects.requireNonNull(model, "model is null");
+        this.topology = model.getTopology();
+        this.views = model.getViews();
+        this.key = Objects.requireNonNull(key, "key is null");
+        this.delegate = Objects.requireNonNull(delegate, "delegate is null");
+        int units = topology.getUnitCount();
+        heap = new int[units];
+        positions = new int[units];
+        keys = new int[units];
+        visited = new int[units];
+        for (int unit = 0; unit < units; unit++) {
+            positions[unit] = -1;
+            update(unit);
+        }
+    }
+
+    /**
+     * @return the view with the smallest key, ties broken by unit order; {@code null} if no view has empty cells
+     */
+    public View peek() {
+        return 0 == size ? null : views.get(heap[0]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void placed(int index, int value, int depth) {
+        updateAround(index);
+        delegate.placed(index, value, depth);
+    }
+
+    @Override
+    public void undone(int index, int depth) {
+        updateAround(index);
+        delegate.undone(index, depth);
+    }
+
+    private void updateAround(int cell) {
+        if (0 == ++visit) {
+            Arrays.fill(visited, 0);
+            visit = 1;
+        }
+        for (int i = 0; i < topology.getUnitCount(cell); i++) {
+            int unit = topology.getUnit(cell, i);
+            if (Key.EMPTY_CELLS == key) {
+                update(unit);
+            } else {
+                visitUnit(unit);
+                for (int j = 0; j < topology.getSiblingCount(unit); j++) {
+                    visitUnit(topology.getSibling(unit, j));
+                }
+            }
+        }
+        if (Key.CANDIDATES == key) {
+            for (int i = 0; i < topology.getExtraPeerCount(cell); i++) {
+                int peer = topology.getExtraPeer(cell, i);
+                for (int j = 0; j < topology.getUnitCount(peer); j++) {
+                    visitUnit(topology.getUnit(peer, j));
+                }
+            }
+        }
+    }
+
+    private void visitUnit(int unit) {
+        if (visited[unit] != visit) {
+            visited[unit] = visit;
+            update(unit);
+        }
+    }
+
+    private void update(int unit) {
+        View view = views.get(unit);
+        if (!view.hasMissingValues()) {
+            remove(unit);
+            return;
+        }
+        int next = Key.EMPTY_CELLS == key ? view.countMissingValues() : countCandidates(unit);
+        int position = positions[unit];
+        if (position < 0) {
+            keys[unit] = next;
+            position = size++;
+            heap[position] = unit;
+            positions[unit] = position;
+            siftUp(position);
+        } else if (next != keys[unit]) {
+            boolean smaller = next < keys[unit];
+            keys[unit] = next;
+            if (smaller) {
+                siftUp(position);
+            } else {
+                siftDown(position);
+            }
+        }
+    }
+
+    private int countCandidates(int unit) {
+        int count = 0;
+        for (int i = 0; i < topology.getSize(); i++) {
+            int cell = topology.getCell(unit, i);
+            if (0 == model.getDigit(cell)) {
+                count += Integer.bitCount(model.getCandidates(cell));
+            }
+        }
+        return count;
+    }
+
+    private void remove(int unit) {
+        int position = positions[unit];
+        if (position < 0) {
+            return;
+        }
+        positions[unit] = -1;
+        int last = heap[--size];
+        if (position != size) {
+            heap[position] = last;
+            positions[last] = position;
+            siftUp(position);
+            siftDown(positions[last]);
+        }
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || keys[a] == keys[b] && a < b;
+    }
+
+    private void siftUp(int position) {
+        int unit = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!less(unit, heap[parent])) {
+                break;
+            }
+            move(heap[parent], position);
+            position = parent;
+        }
+        move(unit, position);
+    }
+
+    private void siftDown(int position) {
+        int unit = heap[position];
+        for (int child = 2 * position + 1; child < size; child = 2 * position + 1) {
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], unit)) {
+                break;
+            }
+            move(heap[child], position);
+            position = child;
+        }
+        move(unit, position);
+    }
+
+    private void move(int unit, int position) {
+        heap[position] = unit;
+        positions[unit] = position;
+    }
+}
@@ -0,0 +1,127 @@
+package sch.sudoku.solver.technique;
+
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+
+import java.util.Objects;
+
+/**
+ * Pencil marks of a grid as one digit mask per cell, which the techniques narrow down. Unlike
+ * {@link Model#getCandidates(int)}, which only excludes the digits placed in the peers, eliminations are kept.
+ * Solved cells have no candidates; an empty cell without candidates marks the state as broken.
+ */
+public final class Candidates {
+    private final Topology topology;
+    private final int[] masks;
+    private final byte[] digits;
+    private int empty;
+    private boolean broken;
+
+    public Candidates(Topology topology) {
+        this.topology = Objects.requireNonNull(topology, "topology is null");
+        masks = new int[topology.getCellCount()];
+        digits = new byte[topology.getCellCount()];
+    }
+
+    public static Candidates of(Model model) {
+        Candidates candidates = new Candidates(model.getTopology());
+        candidates.load(model);
+        return candidates;
+    }
+
+    /**
+     * Resets the marks to the digits and candidates of the model, which has to be of the same topology.
+     */
+    public void load(Model model) {
+        if (topology != model.getTopology()) {
+            throw new IllegalArgumentException("topology: " + model.getTopology());
+        }
+        empty = 0;
+        broken = false;
+        for (int cell = 0; cell < masks.length; cell++) {
+            digits[cell] = (byte) model.getDigit(cell);
+            if (0 == digits[cell]) {
+                masks[cell] = model.getCandidates(cell);
+                empty++;
+                broken |= 0 == masks[cell];
+            } else {
+                masks[cell] = 0;
+            }
+        }
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    public int getMask(int cell) {
+        return masks[cell];
+    }
+
+    public int getDigit(int cell) {
+        return digits[cell];
+    }
+
+    public int getEmptyCount() {
+        return empty;
+    }
+
+    public boolean isSolved() {
+        return 0 == empty;
+    }
+
+    public boolean isBroken() {
+        return broken;
+    }
+
+    /**
+     * Places the digit and removes it from the candidates of all peers.
+     */
+    public void place(int cell, int digit) {
+        if (0 != digits[cell] || 0 == (masks[cell] & 1 << digit)) {
+            throw new IllegalArgumentException("cell: " + cell + ", digit: " + digit);
+        }
+        digits[cell] = (byte) digit;
+        masks[cell] = 0;
+        empty--;
+        for (int i = 0; i < topology.getPeerCount(cell); i++) {
+            eliminate(topology.getPeer(cell, i), 1 << digit);
+        }
+    }
+
+    /**
+     * @return the number of candidates removed from the cell
+     */
+    public int eliminate(int cell, int mask) {
+        int removed = masks[cell] & mask;
+        if (0 == removed) {
+            return 0;
+        }
+        masks[cell] ^= removed;
+        broken |= 0 == masks[cell];
+        return Integer.bitCount(removed);
+    }
+
+    /**
+     * @return mask of the view indexes of the cells in the unit that have the digit as candidate
+     */
+    public int getPositions(int unit, int digit) {
+        int positions = 0;
+        for (int i = 0; i < topology.getSize(); i++) {
+            positions |= (masks[topology.getCell(unit, i)] >>> digit & 1) << i;
+        }
+        return positions;
+    }
+
+    /**
+     * @return whether the two distinct cells share a unit
+     */
+    public boolean sees(int cell, int other) {
+        for (int i = 0; i < topology.getUnitCount(cell); i++) {
+            if (topology.getViewIndex(topology.getUnit(cell, i), other) >= 0) {
+                return cell != other;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package sch.sudoku.solver.technique;
+
+/**
+ * Depth first search for {@code n} sets whose union has exactly {@code n} elements, the common core of subsets and
+ * fish. Sets are bit masks; empty ones and those with more than {@code n} elements are skipped.
+ */
+final class Combinations {
+
+    interface Action {
+        /**
+         * @param chosen mask of the indexes of the chosen sets
+         * @param union  union of the chosen sets
+         * @return the number of changes made, {@code 0} to continue the search
+         */
+        int apply(int chosen, int union);
+    }
+
+    private Combinations() {
+    }
+
+    static int find(int[] sets, int length, int n, Action action) {
+        return find(sets, length, n, 0, 0, 0, action);
+    }
+
+    private static int find(int[] sets, int length, int n, int start, int chosen, int union, Action action) {
+        int depth = Integer.bitCount(chosen);
+        if (n == depth) {
+            return n == Integer.bitCount(union) ? action.apply(chosen, union) : 0;
+        }
+        for (int i = start; i <= length - n + depth; i++) {
+            int set = sets[i];
+            int next = union | set;
+            if (0 != set && Integer.bitCount(next) <= n) {
+                int changes = find(sets, length, n, i + 1, chosen | 1 << i, next, action);
+                if (0 != changes) {
+                    return changes;
+                }
+            }
+        }
+        return 0;
+    }
+}
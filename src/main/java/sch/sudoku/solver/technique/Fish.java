@@ -0,0 +1,53 @@
+package sch.sudoku.solver.technique;
+
+import sch.sudoku.model.Topology;
+
+/**
+ * Basic fish of size {@code n}, X-Wing for two and Swordfish for three: a digit whose places in {@code n} rows fall
+ * into {@code n} columns is removed from the other cells of those columns, and the same with rows and columns
+ * swapped. The view index of a cell in a row is its column and vice versa, so the positions of the digit in the
+ * base units are directly sets of cover units.
+ */
+final class Fish {
+
+    private Fish() {
+    }
+
+    static int apply(Candidates candidates, int n) {
+        Topology topology = candidates.getTopology();
+        int size = topology.getSize();
+        int[] positions = new int[size];
+        for (int digit = 1; digit <= size; digit++) {
+            for (int base = 0; base < 2; base++) {
+                int baseUnit = 0 == base ? topology.getRowUnit(0) : topology.getColumnUnit(0);
+                int coverUnit = 0 == base ? topology.getColumnUnit(0) : topology.getRowUnit(0);
+                int open = 0;
+                for (int i = 0; i < size; i++) {
+                    positions[i] = candidates.getPositions(baseUnit + i, digit);
+                    open += 0 == positions[i] ? 0 : 1;
+                }
+                if (open <= n) {
+                    continue;
+                }
+                int bit = 1 << digit;
+                int changes = Combinations.find(positions, size, n, (bases, covers) -> {
+                    int eliminated = 0;
+                    for (int cover = 0; cover < size; cover++) {
+                        if (0 != (covers & 1 << cover)) {
+                            for (int i = 0; i < size; i++) {
+                                if (0 == (bases & 1 << i)) {
+                                    eliminated += candidates.eliminate(topology.getCell(coverUnit + cover, i), bit);
+                                }
+                            }
+                        }
+                    }
+                    return eliminated;
+                });
+                if (0 != changes) {
+                    return changes;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,26 @@
+package sch.sudoku.solver.technique;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link Grader#grade}: the trace of applied techniques, their summed weights as score and the heaviest
+ * technique used. A puzzle the techniques cannot finish is not solved; its score covers the steps up to there.
+ */
+@Value
+public class Grade {
+
+    @Value
+    public static class Step {
+        Technique technique;
+        /** digits placed plus candidates eliminated */
+        int changes;
+    }
+
+    int score;
+    boolean solved;
+    /** {@code null} if no technique was needed */
+    Technique hardest;
+    List<Step> trace;
+}
@@ -0,0 +1,64 @@
+package sch.sudoku.solver.technique;
+
+import sch.sudoku.model.Model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rates puzzles by the techniques a human needs: repeatedly applies the cheapest technique that makes progress,
+ * starting over with the cheapest after each step, until the grid is solved or no technique applies.
+ */
+public class Grader {
+    private final Technique[] techniques;
+
+    public Grader(List<? extends Technique> techniques) {
+        this.techniques = techniques.toArray(new Technique[0]);
+        Arrays.sort(this.techniques, Comparator.comparingInt(Technique::getWeight));
+    }
+
+    /**
+     * @return a grader with all {@link StandardTechnique}s
+     */
+    public static Grader standard() {
+        return new Grader(Arrays.asList(StandardTechnique.values()));
+    }
+
+    public Grade grade(Model model) {
+        return grade(Candidates.of(model));
+    }
+
+    /**
+     * Grades the given state, which is narrowed down in place.
+     */
+    public Grade grade(Candidates candidates) {
+        List<Grade.Step> trace = new ArrayList<>();
+        int score = 0;
+        Technique hardest = null;
+        while (!candidates.isSolved() && !candidates.isBroken()) {
+            Grade.Step step = step(candidates);
+            if (null == step) {
+                break;
+            }
+            trace.add(step);
+            Technique technique = step.getTechnique();
+            score += technique.getWeight();
+            if (null == hardest || hardest.getWeight() < technique.getWeight()) {
+                hardest = technique;
+            }
+        }
+        return new Grade(score, candidates.isSolved() && !candidates.isBroken(), hardest, trace);
+    }
+
+    private Grade.Step step(Candidates candidates) {
+        for (Technique technique : techniques) {
+            int changes = technique.apply(candidates);
+            if (0 != changes) {
+                return new Grade.Step(technique, changes);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+package sch.sudoku.solver.technique;
+
+import sch.sudoku.model.Topology;
+
+/**
+ * Locked candidates: a digit confined to the cells one unit shares with another is removed from the rest of the
+ * other unit. Pointing looks at blocks against lines, box/line reduction at lines (including the diagonals) against
+ * blocks. The digits are checked all at once: those of the shared cells minus those of the rest of the unit.
+ */
+final class Intersections {
+
+    private Intersections() {
+    }
+
+    static int pointing(Candidates candidates) {
+        return apply(candidates, true);
+    }
+
+    static int boxLine(Candidates candidates) {
+        return apply(candidates, false);
+    }
+
+    private static int apply(Candidates candidates, boolean fromBlock) {
+        Topology topology = candidates.getTopology();
+        int size = topology.getSize();
+        for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+            if (isBlock(topology, unit) != fromBlock) {
+                continue;
+            }
+            for (int j = 0; j < topology.getSiblingCount(unit); j++) {
+                int other = topology.getSibling(unit, j);
+                if (isBlock(topology, other) == fromBlock) {
+                    continue;
+                }
+                int inside = 0;
+                int outside = 0;
+                for (int i = 0; i < size; i++) {
+                    int cell = topology.getCell(unit, i);
+                    if (topology.getViewIndex(other, cell) >= 0) {
+                        inside |= candidates.getMask(cell);
+                    } else {
+                        outside |= candidates.getMask(cell);
+                    }
+                }
+                int locked = inside & ~outside;
+                if (0 == locked) {
+                    continue;
+                }
+                int eliminated = 0;
+                for (int i = 0; i < size; i++) {
+                    int cell = topology.getCell(other, i);
+                    if (topology.getViewIndex(unit, cell) < 0) {
+                        eliminated += candidates.eliminate(cell, locked);
+                    }
+                }
+                if (0 != eliminated) {
+                    return eliminated;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isBlock(Topology topology, int unit) {
+        return unit >= topology.getBlockUnit(0) && unit < topology.getBlockUnit(topology.getSize());
+    }
+}
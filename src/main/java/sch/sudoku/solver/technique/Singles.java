@@ -0,0 +1,51 @@
+package sch.sudoku.solver.technique;
+
+import sch.sudoku.model.Topology;
+
+/**
+ * Places all singles found in one sweep over the cells or units.
+ */
+final class Singles {
+
+    private Singles() {
+    }
+
+    static int naked(Candidates candidates) {
+        int placed = 0;
+        for (int cell = 0; cell < candidates.getTopology().getCellCount(); cell++) {
+            int mask = candidates.getMask(cell);
+            if (0 != mask && 0 == (mask & mask - 1)) {
+                candidates.place(cell, Integer.numberOfTrailingZeros(mask));
+                placed++;
+            }
+        }
+        return placed;
+    }
+
+    static int hidden(Candidates candidates) {
+        Topology topology = candidates.getTopology();
+        int size = topology.getSize();
+        int placed = 0;
+        for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+            int once = 0;
+            int twice = 0;
+            for (int i = 0; i < size; i++) {
+                int mask = candidates.getMask(topology.getCell(unit, i));
+                twice |= once & mask;
+                once |= mask;
+            }
+            for (int singles = once & ~twice; 0 != singles; singles &= singles - 1) {
+                int digit = Integer.numberOfTrailingZeros(singles);
+                for (int i = 0; i < size; i++) {
+                    int cell = topology.getCell(unit, i);
+                    if (0 != (candidates.getMask(cell) & 1 << digit)) {
+                        candidates.place(cell, digit);
+                        placed++;
+                        break;
+                    }
+                }
+            }
+        }
+        return placed;
+    }
+}
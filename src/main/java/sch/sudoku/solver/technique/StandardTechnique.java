@@ -0,0 +1,104 @@
+package sch.sudoku.solver.technique;
+
+/**
+ * The built in techniques, in the order of their weight. All of them work on any topology; the intersections and
+ * subsets use the diagonals when the topology has them, the fish use rows and columns only.
+ */
+public enum StandardTechnique implements Technique {
+    HIDDEN_SINGLE("Hidden single", 10) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Singles.hidden(candidates);
+        }
+    },
+    NAKED_SINGLE("Naked single", 15) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Singles.naked(candidates);
+        }
+    },
+    POINTING("Pointing pair", 26) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Intersections.pointing(candidates);
+        }
+    },
+    BOX_LINE("Box/line reduction", 28) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Intersections.boxLine(candidates);
+        }
+    },
+    NAKED_PAIR("Naked pair", 30) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Subsets.naked(candidates, 2);
+        }
+    },
+    X_WING("X-Wing", 32) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Fish.apply(candidates, 2);
+        }
+    },
+    HIDDEN_PAIR("Hidden pair", 34) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Subsets.hidden(candidates, 2);
+        }
+    },
+    NAKED_TRIPLE("Naked triple", 36) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Subsets.naked(candidates, 3);
+        }
+    },
+    SWORDFISH("Swordfish", 38) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Fish.apply(candidates, 3);
+        }
+    },
+    HIDDEN_TRIPLE("Hidden triple", 40) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Subsets.hidden(candidates, 3);
+        }
+    },
+    XY_WING("XY-Wing", 42) {
+        @Override
+        public int apply(Candidates candidates) {
+            return XYWing.apply(candidates);
+        }
+    },
+    NAKED_QUAD("Naked quad", 50) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Subsets.naked(candidates, 4);
+        }
+    },
+    HIDDEN_QUAD("Hidden quad", 54) {
+        @Override
+        public int apply(Candidates candidates) {
+            return Subsets.hidden(candidates, 4);
+        }
+    };
+
+    private final String name;
+    private final int weight;
+
+    StandardTechnique(String name, int weight) {
+        this.name = name;
+        this.weight = weight;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,74 @@
+package sch.sudoku.solver.technique;
+
+import sch.sudoku.model.Topology;
+
+/**
+ * Naked subsets: {@code n} cells of a unit with only {@code n} digits between them, which are removed from the
+ * other cells of the unit. Hidden subsets: {@code n} digits with only {@code n} places in a unit, whose cells lose
+ * all other digits.
+ */
+final class Subsets {
+
+    private Subsets() {
+    }
+
+    static int naked(Candidates candidates, int n) {
+        Topology topology = candidates.getTopology();
+        int size = topology.getSize();
+        int[] masks = new int[size];
+        for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+            int empty = 0;
+            for (int i = 0; i < size; i++) {
+                masks[i] = candidates.getMask(topology.getCell(unit, i));
+                empty += 0 == masks[i] ? 0 : 1;
+            }
+            if (empty <= n) {
+                continue;
+            }
+            int current = unit;
+            int changes = Combinations.find(masks, size, n, (cells, digits) -> {
+                int eliminated = 0;
+                for (int i = 0; i < size; i++) {
+                    if (0 == (cells & 1 << i)) {
+                        eliminated += candidates.eliminate(topology.getCell(current, i), digits);
+                    }
+                }
+                return eliminated;
+            });
+            if (0 != changes) {
+                return changes;
+            }
+        }
+        return 0;
+    }
+
+    static int hidden(Candidates candidates, int n) {
+        Topology topology = candidates.getTopology();
+        int size = topology.getSize();
+        int[] positions = new int[size + 1];
+        for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+            int open = 0;
+            for (int digit = 1; digit <= size; digit++) {
+                positions[digit] = candidates.getPositions(unit, digit);
+                open += 0 == positions[digit] ? 0 : 1;
+            }
+            if (open <= n) {
+                continue;
+            }
+            int current = unit;
+            int changes = Combinations.find(positions, size + 1, n, (digits, cells) -> {
+                int eliminated = 0;
+                for (int i = 0; i < size; i++) {
+                    if (0 != (cells & 1 << i)) {
+                        eliminated += candidates.eliminate(topology.getCell(current, i), ~digits);
+                    }
+                }
+                return eliminated;
+            });
+            if (0 != changes) {
+                return changes;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,22 @@
+package sch.sudoku.solver.technique;
+
+/**
+ * A human solving technique working on {@link Candidates}. The {@link Grader} tries techniques in the order of
+ * their weight, so cheap ones should weigh less.
+ */
+public interface Technique {
+
+    String getName();
+
+    /**
+     * @return the cost of one application, added to the difficulty score
+     */
+    int getWeight();
+
+    /**
+     * Looks for one instance of the pattern and applies it.
+     *
+     * @return the number of digits placed plus candidates eliminated, {@code 0} if the pattern was not found
+     */
+    int apply(Candidates candidates);
+}
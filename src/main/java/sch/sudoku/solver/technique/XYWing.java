@@ -0,0 +1,54 @@
+package sch.sudoku.solver.technique;
+
+import sch.sudoku.model.Topology;
+
+/**
+ * A pivot with candidates {@code xy} that sees two pincers {@code xz} and {@code yz}: whichever digit the pivot
+ * takes, one pincer is {@code z}, so {@code z} is removed from all cells seeing both pincers.
+ */
+final class XYWing {
+
+    private XYWing() {
+    }
+
+    static int apply(Candidates candidates) {
+        Topology topology = candidates.getTopology();
+        for (int pivot = 0; pivot < topology.getCellCount(); pivot++) {
+            int xy = candidates.getMask(pivot);
+            if (2 != Integer.bitCount(xy)) {
+                continue;
+            }
+            int peers = topology.getPeerCount(pivot);
+            for (int i = 0; i < peers; i++) {
+                int first = topology.getPeer(pivot, i);
+                int xz = candidates.getMask(first);
+                if (!isPincer(xy, xz)) {
+                    continue;
+                }
+                for (int j = i + 1; j < peers; j++) {
+                    int second = topology.getPeer(pivot, j);
+                    int yz = candidates.getMask(second);
+                    int z = xz & yz;
+                    if (!isPincer(xy, yz) || xz == yz || 1 != Integer.bitCount(z) || 0 != (z & xy)) {
+                        continue;
+                    }
+                    int eliminated = 0;
+                    for (int k = 0; k < topology.getPeerCount(first); k++) {
+                        int cell = topology.getPeer(first, k);
+                        if (cell != second && candidates.sees(cell, second)) {
+                            eliminated += candidates.eliminate(cell, z);
+                        }
+                    }
+                    if (0 != eliminated) {
+                        return eliminated;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isPincer(int xy, int mask) {
+        return 2 == Integer.bitCount(mask) && 1 == Integer.bitCount(mask & xy);
+    }
+}
@@ -0,0 +1,104 @@
+package sch.sudoku.validator;
+
+import sch.sudoku.model.Topology;
+
+import java.lang.reflect.Constructor;
+import java.util.Objects;
+
+/**
+ * Checks batches of completed grids packed one after the other into a byte array, one byte per cell as read by
+ * {@link sch.sudoku.io.GridReader}. A unit is valid if its cells hold each digit exactly once; empty cells and
+ * values out of range make it invalid. For every grid the first invalid unit in the numbering of {@link Topology}
+ * is reported, so rows come before columns, blocks, diagonals and extra regions. Cages and relations are not
+ * checked, so topologies with such constraints are rejected.
+ * <p>
+ * {@link #of(Topology)} uses the Vector API validator when it was built (with a JDK 17+, see {@code build.gradle})
+ * and the JVM runs with {@code --add-modules jdk.incubator.vector}, and the scalar validator otherwise. Validators
+ * are safe for concurrent use.
+ */
+public abstract class GridValidator {
+    private static final String VECTOR_VALIDATOR = "sch.sudoku.validator.VectorGridValidator";
+
+    protected final Topology topology;
+
+    protected GridValidator(Topology topology) {
+        if (Objects.requireNonNull(topology, "topology is null").hasCellConstraints()) {
+            throw new IllegalArgumentException("topology: " + topology);
+        }
+        this.topology = topology;
+    }
+
+    /**
+     * @return the fastest validator the runtime supports
+     */
+    public static GridValidator of(Topology topology) {
+        try {
+            Constructor<?> constructor = Class.forName(VECTOR_VALIDATOR).getDeclaredConstructor(Topology.class);
+            return (GridValidator) constructor.newInstance(topology);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return scalar(topology);
+        }
+    }
+
+    public static GridValidator scalar(Topology topology) {
+        return new ScalarGridValidator(topology);
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * @return whether the checks run on the Vector API
+     */
+    public abstract boolean isVectorized();
+
+    /**
+     * @param grids {@code count} grids of {@link Topology#getCellCount()} bytes each
+     * @param units receives for each grid its first invalid unit or {@code -1} if the grid is a valid solution
+     * @return number of valid grids
+     */
+    public int validate(byte[] grids, int count, int[] units) {
+        int cells = topology.getCellCount();
+        if (count < 0 || Objects.requireNonNull(grids, "grids is null").length < (long) count * cells) {
+            throw new IllegalArgumentException("grids don't hold " + count + " grids of " + cells + " cells");
+        }
+        if (Objects.requireNonNull(units, "units is null").length < count) {
+            throw new IllegalArgumentException("units: " + units.length);
+        }
+        return validate(grids, count, units, cells);
+    }
+
+    /**
+     * @return the first invalid unit of the grid or {@code -1} if it is a valid solution
+     */
+    public int firstInvalidUnit(byte[] grid) {
+        int[] units = new int[1];
+        validate(grid, 1, units);
+        return units[0];
+    }
+
+    /**
+     * Validates the grids after the arguments were checked.
+     */
+    protected abstract int validate(byte[] grids, int count, int[] units, int cells);
+
+    /**
+     * @return the cell of view index {@code i} of every unit, unit by unit
+     */
+    protected int[] unitCells() {
+        int size = topology.getSize();
+        int[] cells = new int[topology.getUnitCount() * size];
+        for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+            for (int i = 0; i < size; i++) {
+                cells[unit * size + i] = topology.getCell(unit, i);
+            }
+        }
+        return cells;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + topology + "]";
+    }
+}
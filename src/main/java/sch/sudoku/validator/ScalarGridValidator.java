@@ -0,0 +1,54 @@
+package sch.sudoku.validator;
+
+import sch.sudoku.model.Topology;
+
+/**
+ * ORs the digit bits of every unit, looked up from a table indexed by the unsigned byte so values out of range map
+ * to a bit outside the digits, and compares the result with all digits: a unit of {@code size} cells covers all
+ * digits exactly if it holds each of them once. Units are checked in order and a grid stops at its first invalid
+ * one.
+ */
+final class ScalarGridValidator extends GridValidator {
+    private final int size;
+    private final int allDigits;
+    private final int[] bits = new int[256];
+    private final int[] unitCells;
+
+    ScalarGridValidator(Topology topology) {
+        super(topology);
+        size = topology.getSize();
+        allDigits = topology.getAllDigits();
+        for (int value = 0; value < bits.length; value++) {
+            bits[value] = 0 < value && value <= size ? 1 << value : 1;
+        }
+        unitCells = unitCells();
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+
+    @Override
+    protected int validate(byte[] grids, int count, int[] units, int cells) {
+        int valid = 0;
+        for (int grid = 0, offset = 0; grid < count; grid++, offset += cells) {
+            units[grid] = firstInvalidUnit(grids, offset);
+            valid += units[grid] >>> 31;
+        }
+        return valid;
+    }
+
+    private int firstInvalidUnit(byte[] grids, int offset) {
+        for (int unit = 0, i = 0; i < unitCells.length; unit++) {
+            int mask = 0;
+            for (int end = i + size; i < end; i++) {
+                mask |= bits[grids[offset + unitCells[i]] & 0xFF];
+            }
+            if (allDigits != mask) {
+                return unit;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,96 @@
+package sch.sudoku.cli;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MainTests {
+    private static final String HARD =
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+    private static final String SOLUTION =
+            "417369825632158947958724316825437169791586432346912758289643571573291684164875293";
+    private static final String BROKEN =
+            "11...............................................................................";
+    private static final String EMPTY =
+            ".................................................................................";
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private int run(String input, String... args) {
+        return Main.run(args, new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), out,
+                new PrintStream(err));
+    }
+
+    private String output() {
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void shouldSolveFromStdinToStdout() throws Exception {
+        // when
+        int status = run(HARD + "\n" + BROKEN + "\n", "solve");
+
+        // then
+        assertEquals(Main.FAILED, status);
+        assertEquals(SOLUTION + "\n" + BROKEN + "\n", output());
+        assertTrue(err.toString().contains("grid 2: no solution"));
+    }
+
+    @Test
+    public void shouldValidateAndCount() throws Exception {
+        // given
+        String input = SOLUTION + "\n" + HARD + "\n" + BROKEN + "\n" + EMPTY + "\n";
+
+        // when
+        int validated = run(input, "validate");
+        String validation = output();
+        out.reset();
+        int counted = run(input, "count", "--limit", "3");
+
+        // then
+        assertEquals(Main.FAILED, validated);
+        assertEquals("solved\nincomplete\ninvalid row 1\nincomplete\n", validation);
+        assertEquals(Main.FAILED, counted);
+        assertEquals("1\n1\n0\n3\n", output());
+    }
+
+    @Test
+    public void shouldConvertToPackedAndBack() throws Exception {
+        // given
+        Path text = Files.createTempFile("grids", ".txt");
+        Path packed = Files.createTempFile("grids", ".bin");
+        text.toFile().deleteOnExit();
+        packed.toFile().deleteOnExit();
+        Files.write(text, Arrays.asList(HARD, SOLUTION));
+
+        // when
+        int packing = run("", "convert", "--to", "packed", text.toString(), packed.toString());
+        int unpacking = run("", "convert", "--to", "text", packed.toString());
+
+        // then
+        assertEquals(Main.OK, packing);
+        assertEquals(Main.OK, unpacking);
+        assertEquals(HARD + "\n" + SOLUTION + "\n", output());
+    }
+
+    @Test
+    public void shouldRejectBadArguments() throws Exception {
+        // when / then
+        assertEquals(Main.ERROR, run("", "guess"));
+        assertEquals(Main.ERROR, run("", "solve", "--block", "3"));
+        assertEquals(Main.ERROR, run("", "convert", "--to", "packed"));
+        assertEquals(Main.ERROR, run("", "solve", "missing.txt"));
+        assertEquals(Main.OK, run("", "solve", "--block", "2x2", "--diagonals"));
+        assertTrue(err.toString().contains("usage: sudoku"));
+    }
+}
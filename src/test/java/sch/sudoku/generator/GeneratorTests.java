@@ -0,0 +1,76 @@
+package sch.sudoku.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+import sch.sudoku.solver.Solutions;
+import sch.sudoku.solver.TimingExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(TimingExtension.class)
+public class GeneratorTests {
+
+    private static int countClues(byte[] puzzle) {
+        int clues = 0;
+        for (byte digit : puzzle) {
+            clues += 0 == digit ? 0 : 1;
+        }
+        return clues;
+    }
+
+    @Test
+    public void shouldGenerateUniquePuzzlesWithClueCount() throws Exception {
+        // given
+        Generator generator = Generator.builder().seed(42).clues(30).build();
+
+        // when
+        List<byte[]> puzzles = generator.generate(20);
+
+        // then
+        assertEquals(20, puzzles.size());
+        Model model = Model.empty(Topology.CLASSIC);
+        for (byte[] puzzle : puzzles) {
+            assertEquals(30, countClues(puzzle));
+            model.load(puzzle);
+            assertTrue(Solutions.isUnique(model));
+        }
+    }
+
+    @Test
+    public void shouldBeReproducible() throws Exception {
+        // given
+        Generator generator = Generator.builder().seed(7).diagonals(true).build();
+
+        // when
+        List<byte[]> puzzles = generator.generate(8);
+        byte[] puzzle = Generator.builder().seed(7).diagonals(true).build().getPuzzle(5);
+
+        // then
+        assertArrayEquals(puzzles.get(5), puzzle);
+        Model model = Model.empty(Topology.DIAGONALS);
+        model.load(puzzle);
+        assertTrue(Solutions.isUnique(model));
+    }
+
+    @Test
+    public void shouldGenerateWithinDifficulty() throws Exception {
+        // given
+        Generator generator = Generator.builder().seed(1).difficulty(Difficulty.EASY).build();
+
+        // when
+        byte[] puzzle = generator.getPuzzle(0);
+
+        // then
+        Model model = Model.empty(Topology.CLASSIC);
+        model.load(puzzle);
+        assertTrue(Solutions.isUnique(model));
+        assertTrue(countClues(puzzle) < 40, Arrays.toString(puzzle));
+    }
+}
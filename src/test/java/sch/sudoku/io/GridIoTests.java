@@ -0,0 +1,173 @@
+package sch.sudoku.io;
+
+import org.junit.jupiter.api.Test;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+import sch.sudoku.solver.BatchSolver;
+import sch.sudoku.solver.Solutions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GridIoTests {
+    private static final String EASY =
+            "003020600900305001001806400008102900700000008006708200002609500800203009005010300";
+    private static final String HARD =
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+
+    private static Path write(String content) throws IOException {
+        Path path = Files.createTempFile("grids", ".txt");
+        path.toFile().deleteOnExit();
+        Files.write(path, content.getBytes(StandardCharsets.US_ASCII));
+        return path;
+    }
+
+    @Test
+    public void shouldReadLinesSkippingCommentsAndBlankLines() throws Exception {
+        // given
+        Path path = write("# corpus\n" + EASY + "\r\n\n" + HARD);
+        byte[] grid = new byte[81];
+
+        // when / then
+        try (GridReader reader = GridReader.open(path)) {
+            assertTrue(reader.read(grid));
+            assertEquals(3, grid[2]);
+            assertEquals(0, grid[0]);
+            assertTrue(reader.read(grid));
+            assertEquals(4, grid[0]);
+            assertEquals(0, grid[1]);
+            assertFalse(reader.read(grid));
+        }
+    }
+
+    @Test
+    public void shouldRejectShortLine() throws Exception {
+        // given
+        Path path = write(EASY.substring(1) + "\n");
+
+        // when / then
+        try (GridReader reader = GridReader.open(path)) {
+            assertThrows(IOException.class, () -> reader.read(new byte[81]));
+        }
+    }
+
+    @Test
+    public void shouldWriteWhatWasRead() throws Exception {
+        // given
+        Path input = write(EASY + "\n" + HARD + "\n");
+        Path output = Files.createTempFile("grids", ".txt");
+        output.toFile().deleteOnExit();
+        byte[] grid = new byte[81];
+
+        // when
+        try (GridReader reader = GridReader.open(input); GridWriter writer = GridWriter.create(output)) {
+            while (reader.read(grid)) {
+                writer.write(grid);
+            }
+        }
+
+        // then
+        assertEquals(Arrays.asList(EASY.replace('0', '.'), HARD), Files.readAllLines(output));
+    }
+
+    @Test
+    public void shouldSolveFileToFile() throws Exception {
+        // given
+        Path input = write(EASY + "\n" + HARD + "\n");
+        Path output = Files.createTempFile("solutions", ".txt");
+        output.toFile().deleteOnExit();
+
+        // when
+        long solved = new GridPipeline(BatchSolver.builder().build(), 1).solve(input, output);
+
+        // then
+        assertEquals(2, solved);
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(2, lines.size());
+        Model model = Model.builder().model(new Integer[81]).build();
+        byte[] grid = new byte[81];
+        for (String line : lines) {
+            for (int i = 0; i < 81; i++) {
+                grid[i] = (byte) (line.charAt(i) - '0');
+            }
+            model.load(grid);
+            assertTrue(model.isSolved());
+        }
+        assertEquals("417369825", lines.get(1).substring(0, 9));
+    }
+
+    @Test
+    public void shouldReadPackedGridsByOrdinal() throws Exception {
+        // given
+        Path input = write(EASY + "\n" + HARD + "\n");
+        Path packed = Files.createTempFile("grids", ".bin");
+        packed.toFile().deleteOnExit();
+        byte[] easy = new byte[81];
+        byte[] hard = new byte[81];
+        try (GridReader reader = GridReader.open(input)) {
+            reader.read(easy);
+            reader.read(hard);
+        }
+
+        // when
+        try (PackedGridWriter writer = PackedGridWriter.create(packed, Topology.CLASSIC, false)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.write(i % 2 == 0 ? easy : hard);
+            }
+        }
+
+        // then
+        assertEquals(32 + 1000 * 41, Files.size(packed));
+        byte[] grid = new byte[81];
+        try (PackedGridStore store = PackedGridStore.open(packed)) {
+            assertEquals(1000, store.getCount());
+            assertFalse(store.isSolved());
+            store.read(999, grid);
+            assertArrayEquals(hard, grid);
+            store.read(500, grid);
+            assertArrayEquals(easy, grid);
+            assertEquals(Integer.valueOf(3), store.getModel(0).get(2));
+            assertThrows(IllegalArgumentException.class, () -> store.read(1000, grid));
+        }
+    }
+
+    @Test
+    public void shouldPackSolvedGridsWithoutLastRowAndColumn() throws Exception {
+        // given
+        Path packed = Files.createTempFile("solutions", ".bin");
+        packed.toFile().deleteOnExit();
+        Topology topology = Topology.of(4, 4, true);
+        List<byte[]> solutions = Solutions.stream(Model.empty(topology)).limit(10).collect(Collectors.toList());
+
+        // when
+        try (PackedGridWriter writer = PackedGridWriter.create(packed, topology, true)) {
+            for (byte[] solution : solutions) {
+                writer.write(solution);
+            }
+            assertThrows(IllegalArgumentException.class, () -> writer.write(new byte[256]));
+        }
+
+        // then
+        assertEquals(32 + 10 * ((15 * 15 * 5 + 7) / 8), Files.size(packed));
+        byte[] grid = new byte[256];
+        try (PackedGridStore store = PackedGridStore.open(packed)) {
+            assertTrue(store.isSolved());
+            assertEquals(topology, store.getTopology());
+            for (int i = 0; i < solutions.size(); i++) {
+                store.read(i, grid);
+                assertArrayEquals(solutions.get(i), grid);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package sch.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class CanonicalizerTests {
+
+    private static byte[] toGrid(Integer[] state) {
+        byte[] grid = new byte[81];
+        for (int i = 0; i < 81; i++) {
+            grid[i] = (byte) (null == state[i] ? 0 : state[i]);
+        }
+        return grid;
+    }
+
+    private static int[] shuffle(Random random, int... values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+        return values;
+    }
+
+    private static int[] lines(Random random) {
+        int[] bands = shuffle(random, 0, 1, 2);
+        int[] lines = new int[9];
+        for (int band = 0; band < 3; band++) {
+            int[] within = shuffle(random, 0, 1, 2);
+            for (int i = 0; i < 3; i++) {
+                lines[3 * band + i] = 3 * bands[band] + within[i];
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * @return a row order that keeps both diagonals: line {@code 8 - i} goes where line {@code i} goes, mirrored
+     */
+    private static int[] diagonalLines(Random random) {
+        int[] lines = new int[9];
+        int base = random.nextBoolean() ? 0 : 6;
+        int[] within = shuffle(random, 0, 1, 2);
+        for (int i = 0; i < 3; i++) {
+            lines[i] = base + within[i];
+            lines[8 - i] = 8 - lines[i];
+        }
+        boolean swapped = random.nextBoolean();
+        lines[3] = swapped ? 5 : 3;
+        lines[4] = 4;
+        lines[5] = swapped ? 3 : 5;
+        return lines;
+    }
+
+    private static int[] mirrored(int[] lines) {
+        int[] result = new int[9];
+        for (int i = 0; i < 9; i++) {
+            result[i] = 8 - lines[i];
+        }
+        return result;
+    }
+
+    private static byte[] transform(byte[] grid, boolean transposed, int[] rows, int[] columns, int[] labels) {
+        byte[] result = new byte[81];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                int digit = transposed ? grid[9 * columns[j] + rows[i]] : grid[9 * rows[i] + columns[j]];
+                result[9 * i + j] = (byte) labels[digit];
+            }
+        }
+        return result;
+    }
+
+    private static int[] labels(Random random) {
+        int[] labels = new int[10];
+        System.arraycopy(shuffle(random, 1, 2, 3, 4, 5, 6, 7, 8, 9), 0, labels, 1, 9);
+        return labels;
+    }
+
+    @ParameterizedTest
+    @MethodSource("sch.sudoku.solver.StatesTests#getStates")
+    public void shouldMapSymmetricGridsToSameForm(boolean diagonals, Integer[] state) throws Exception {
+        // given
+        byte[] grid = toGrid(state);
+        CanonicalForm form = Canonicalizer.canonicalize(grid, diagonals);
+        Random random = new Random(17);
+
+        for (int n = 0; n < 20; n++) {
+            // when
+            int[] rows = diagonals ? diagonalLines(random) : lines(random);
+            int[] columns = !diagonals ? lines(random) : random.nextBoolean() ? rows : mirrored(rows);
+            byte[] symmetric = transform(grid, random.nextBoolean(), rows, columns, labels(random));
+            CanonicalForm other = Canonicalizer.canonicalize(symmetric, diagonals);
+
+            // then
+            assertEquals(form.getKey(), other.getKey());
+            assertArrayEquals(other.getGrid(), other.toCanonical(symmetric));
+            assertArrayEquals(symmetric, other.fromCanonical(other.getGrid()));
+        }
+    }
+
+    @Test
+    public void shouldTellDifferentGridsApart() throws Exception {
+        // given
+        byte[] grid = new byte[81];
+        grid[0] = 1;
+        grid[1] = 2;
+        byte[] other = grid.clone();
+        other[9] = 3;
+
+        // when
+        CanonicalForm form = Canonicalizer.canonicalize(grid, false);
+        CanonicalForm otherForm = Canonicalizer.canonicalize(other, false);
+
+        // then
+        assertNotEquals(form.getKey(), otherForm.getKey());
+        assertNotEquals(form.getKey(), Canonicalizer.canonicalize(grid, true).getKey());
+    }
+}
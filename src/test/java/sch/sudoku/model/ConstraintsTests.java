@@ -0,0 +1,119 @@
+package sch.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+import sch.sudoku.solver.DancingLinksSolver;
+import sch.sudoku.solver.Solutions;
+import sch.sudoku.solver.Solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConstraintsTests {
+
+    @Test
+    public void shouldCompileWindokuWindowsIntoUnits() throws Exception {
+        // given
+        Topology topology = Topology.CLASSIC.with(Constraints.builder().windoku().build());
+        Model model = Model.empty(topology);
+
+        // when
+        new DancingLinksSolver().solveModel(model);
+
+        // then
+        assertEquals(4, topology.getRegionCount());
+        assertEquals(31, topology.getUnitCount());
+        assertEquals(10, topology.getCell(topology.getRegionUnit(0), 0));
+        assertEquals(23, topology.getPeerCount(10));
+        assertTrue(model.getViews().get(topology.getRegionUnit(3)) instanceof Region);
+        assertTrue(model.isSolved());
+        for (int region = 0; region < 4; region++) {
+            assertTrue(model.getViews().get(topology.getRegionUnit(region)).isSolved());
+        }
+    }
+
+    @Test
+    public void shouldKeepKnightAndKingMovesApart() throws Exception {
+        // given
+        Topology topology = Topology.CLASSIC.with(Constraints.builder().antiKnight().antiKing().build());
+        Model model = Model.empty(topology);
+        model.set(40, 5);
+        model.set(20, 7);
+
+        // when
+        int knight = model.getCandidates(6 * 9 + 5);
+        int king = model.getCandidates(3 * 9 + 3);
+        Solver.propagating().solveModel(model);
+
+        // then
+        assertEquals(28, topology.getPeerCount(40));
+        assertEquals(0, knight & 1 << 5);
+        assertEquals(0, king & 1 << 7);
+        assertTrue(model.isSolved());
+        for (int cell = 0; cell < 81; cell++) {
+            for (int i = 0; i < topology.getPeerCount(cell); i++) {
+                assertTrue(model.getDigit(cell) != model.getDigit(topology.getPeer(cell, i)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldPruneCandidatesByCageCombinations() throws Exception {
+        // given
+        byte[] solution = Solutions.stream(Model.empty(Topology.CLASSIC)).findFirst().get();
+        Constraints.Builder builder = Constraints.builder();
+        for (int cell = 0; cell < 80; cell += 2) {
+            builder.cage(solution[cell] + solution[cell + 1], cell, cell + 1);
+        }
+        Topology topology = Topology.CLASSIC.with(builder.cage(solution[80], 80).build());
+        Model model = Model.empty(topology);
+
+        // when
+        int single = model.getCandidates(80);
+        Solver.propagating().solveModel(model);
+
+        // then
+        assertEquals(1 << solution[80], single);
+        assertTrue(model.isSolved());
+        for (int cage = 0; cage < topology.getCageCount(); cage++) {
+            int sum = 0;
+            for (int i = 0; i < topology.getCageSize(cage); i++) {
+                sum += model.getDigit(topology.getCageCell(cage, i));
+            }
+            assertEquals(topology.getCageSum(cage), sum);
+        }
+    }
+
+    @Test
+    public void shouldReportCageConflicts() throws Exception {
+        // given
+        Topology topology = Topology.CLASSIC.with(Constraints.builder().cage(3, 0, 10).relation(0, 80).build());
+        Model model = Model.empty(topology);
+
+        // when
+        model.set(0, 1);
+        int candidates = model.getCandidates(10);
+        model.set(10, 4);
+
+        // then
+        assertEquals(1 << 2, candidates);
+        assertFalse(model.isValid());
+        model.undo();
+        assertTrue(model.isValid());
+        model.set(80, 1);
+        assertFalse(model.isValid());
+    }
+
+    @Test
+    public void shouldRejectConstraintsNotFittingTheBoard() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> Topology.CLASSIC.with(Constraints.builder().region(0, 1, 2).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> Topology.CLASSIC.with(Constraints.builder().cage(5, 0, 1).cage(5, 1, 2).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> Topology.CLASSIC.with(Constraints.builder().cage(2, 0, 1).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> Topology.CLASSIC.with(Constraints.builder().relation(0, 81).build()));
+    }
+}
@@ -0,0 +1,136 @@
+package sch.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ModelTests {
+    private static final String SOLUTION =
+            "483921657967345821251876493548132976729564138136798245372689514814253769695417382";
+
+    @Test
+    public void shouldTrackDigitsOfUnitsIncrementally() throws Exception {
+        // given
+        Model model = Model.empty(Topology.CLASSIC);
+        Topology topology = model.getTopology();
+        View row = model.getViews().get(topology.getRowUnit(0));
+        View column = model.getViews().get(topology.getColumnUnit(2));
+        View block = model.getViews().get(topology.getBlockUnit(0));
+
+        // when
+        model.set(0, 1);
+        model.set(1, 2);
+
+        // then
+        assertEquals(topology.getAllDigits() & ~(1 << 1 | 1 << 2), row.getMissingMask());
+        assertEquals(7, row.countMissingValues());
+        assertEquals(Arrays.asList(3, 4, 5, 6, 7, 8, 9), row.getMissingNumbers());
+        assertEquals(topology.getAllDigits(), column.getMissingMask());
+        assertEquals(topology.getAllDigits() & ~(1 << 1 | 1 << 2), model.getCandidates(2));
+        assertTrue(model.isValid());
+
+        // when
+        model.set(2, 1);
+
+        // then
+        assertFalse(row.isValid());
+        assertFalse(block.isValid());
+        assertTrue(column.isValid());
+        assertFalse(model.isValid());
+
+        // when
+        model.undo();
+
+        // then
+        assertTrue(row.isValid());
+        assertTrue(model.isValid());
+        assertEquals(7, row.countMissingValues());
+    }
+
+    @Test
+    public void shouldReportSolvedOnlyForCompleteValidGrid() throws Exception {
+        // given
+        Model model = Model.empty(Topology.CLASSIC);
+        byte[] cells = new byte[81];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (byte) (SOLUTION.charAt(i) - '0');
+        }
+
+        // when
+        model.load(cells);
+
+        // then
+        assertTrue(model.isSolved());
+        assertTrue(model.getViews().stream().allMatch(View::isSolved));
+
+        // when
+        model.set(0, 9);
+
+        // then
+        assertFalse(model.isSolved());
+        assertFalse(model.isValid());
+        assertEquals(0, model.getViews().get(0).countMissingValues());
+    }
+
+    @Test
+    public void shouldRollBackTrailToMark() throws Exception {
+        // given
+        Model model = Model.empty(Topology.CLASSIC);
+        model.set(0, 1);
+        int mark = model.getDepth();
+        long hash = model.getHash();
+
+        // when
+        model.set(10, 3);
+        model.set(20, 5);
+        model.set(0, 2);
+
+        // then
+        assertEquals(4, model.getDepth());
+        assertEquals(0, model.getLastIndex());
+        assertEquals(2, model.getLastValue());
+        assertSame(model.getViews().get(model.getTopology().getRowUnit(0)), model.getLastView());
+
+        // when
+        Value undone = model.undo();
+        model.rollback(mark);
+
+        // then
+        assertEquals(0, undone.getIndex());
+        assertEquals(Integer.valueOf(2), undone.getValue());
+        assertEquals(mark, model.getDepth());
+        assertEquals(1, model.getDigit(0));
+        assertEquals(0, model.getDigit(10));
+        assertEquals(0, model.getDigit(20));
+        assertEquals(hash, model.getHash());
+        assertThrows(IllegalArgumentException.class, () -> model.rollback(mark + 1));
+        model.rollback(0);
+        assertFalse(model.canUndo());
+        assertThrows(IllegalStateException.class, model::undo);
+    }
+
+    @Test
+    public void shouldGrowTrailBeyondInitialCapacity() throws Exception {
+        // given
+        Model model = Model.empty(Topology.CLASSIC);
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            model.set(i % 81, 1 + i % 9);
+        }
+
+        // then
+        assertEquals(1_000, model.getDepth());
+        model.rollback(0);
+        for (int i = 0; i < 81; i++) {
+            assertEquals(0, model.getDigit(i));
+        }
+        assertTrue(model.isValid());
+    }
+}
@@ -0,0 +1,75 @@
+package sch.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TopologyTests {
+
+    @Test
+    public void shouldMapViewAndModelIndexesBothWays() throws Exception {
+        Topology topology = Topology.DIAGONALS;
+        for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+            for (int i = 0; i < 9; i++) {
+                assertEquals(i, topology.getViewIndex(unit, topology.getCell(unit, i)));
+            }
+        }
+        assertEquals(-1, topology.getViewIndex(topology.getRowUnit(0), 9));
+    }
+
+    @Test
+    public void shouldCountPeersAndSiblings() throws Exception {
+        assertEquals(20, Topology.CLASSIC.getPeerCount(0));
+        assertEquals(26, Topology.DIAGONALS.getPeerCount(0));
+        assertEquals(32, Topology.DIAGONALS.getPeerCount(40));
+        assertEquals(12, Topology.CLASSIC.getSiblingCount(Topology.CLASSIC.getRowUnit(0)));
+        assertEquals(5, Topology.DIAGONALS.getUnitCount(40));
+    }
+
+    @Test
+    public void shouldShareTablesBetweenModels() throws Exception {
+        Model model = Model.builder().model(new Integer[81]).diagonals(true).build();
+        assertSame(Topology.DIAGONALS, model.getTopology());
+        Block block = (Block) model.getViews().get(model.getTopology().getBlockUnit(4));
+        assertEquals(40, block.getModelIndex(4));
+        assertEquals(4, block.toViewIndex(40));
+        assertEquals(8, block.getSiblings().size());
+    }
+
+    @Test
+    public void shouldLayOutRectangularBlocks() throws Exception {
+        // given
+        Topology topology = Topology.of(3, 2, false);
+
+        // then
+        assertEquals(6, topology.getSize());
+        assertEquals(18, topology.getUnitCount());
+        assertEquals(0x7E, topology.getAllDigits());
+        assertEquals(3, topology.getCell(topology.getBlockUnit(1), 0));
+        assertEquals(9, topology.getCell(topology.getBlockUnit(1), 3));
+        assertEquals(12, topology.getCell(topology.getBlockUnit(2), 0));
+        assertEquals(12, topology.getPeerCount(0));
+        assertSame(topology, Topology.of(3, 2, false));
+    }
+
+    @Test
+    public void shouldPrintBoardOfAnySize() throws Exception {
+        // given
+        Model model = Model.builder().model(new Integer[16]).blockWidth(2).blockHeight(2).build();
+
+        // when
+        model.set(1, 4);
+
+        // then
+        assertEquals("+===+===*===+===+\n"
+                + "H   | 4 H   |   H\n"
+                + "+---+---*---+---+\n"
+                + "H   |   H   |   H\n"
+                + "+===+===*===+===+\n"
+                + "H   |   H   |   H\n"
+                + "+---+---*---+---+\n"
+                + "H   |   H   |   H\n"
+                + "+===+===*===+===+\n", model.toString());
+    }
+}
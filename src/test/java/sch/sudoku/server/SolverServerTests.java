@@ -0,0 +1,189 @@
+package sch.sudoku.server;
+
+import org.junit.jupiter.api.Test;
+import sch.sudoku.model.Topology;
+import sch.sudoku.solver.ModelSolver;
+import sch.sudoku.solver.UnsolvableException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SolverServerTests {
+    private static final String EASY =
+            "003020600900305001001806400008102900700000008006708200002609500800203009005010300";
+    private static final String HARD =
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+
+    private static byte[] grid(String line) {
+        byte[] grid = new byte[line.length()];
+        for (int i = 0; i < grid.length; i++) {
+            grid[i] = (byte) ('.' == line.charAt(i) ? 0 : Topology.toDigit(line.charAt(i)));
+        }
+        return grid;
+    }
+
+    private static String[] exchange(int port, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + port + path).openConnection();
+        connection.setReadTimeout(10_000);
+        if (null != body) {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+        int status = connection.getResponseCode();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (InputStream in = 400 > status ? connection.getInputStream() : connection.getErrorStream()) {
+            for (int c = in.read(); c >= 0; c = in.read()) {
+                content.write(c);
+            }
+        }
+        return new String[] {String.valueOf(status), new String(content.toByteArray(), StandardCharsets.US_ASCII)};
+    }
+
+    @Test
+    public void shouldSolveConcurrentRequestsInBatches() throws Exception {
+        // given
+        List<byte[]> grids = Arrays.asList(grid(EASY), grid(HARD));
+        try (SolverServer server = SolverServer.builder().workers(2).build().start()) {
+            LoadGenerator generator = LoadGenerator.builder()
+                    .url(new URL("http://127.0.0.1:" + server.getPort() + "/solve"))
+                    .grids(grids).clients(4).requests(10).gridsPerRequest(3).build();
+
+            // when
+            LoadGenerator.Result result = generator.run();
+            String[] single = exchange(server.getPort(), "/solve", "# comment\n" + EASY + "\n");
+            String[] stats = exchange(server.getPort(), "/stats", null);
+
+            // then
+            assertEquals(40, result.getRequests());
+            assertEquals(0, result.getRejected() + result.getFailed());
+            assertEquals(120, result.getSolved());
+            assertEquals("200", single[0]);
+            assertEquals("483921657967345821251876493548132976729564138136798245372689514814253769695417382\n",
+                    single[1]);
+            assertEquals("200", stats[0]);
+            assertTrue(stats[1].contains("requests=41\n"), stats[1]);
+            assertTrue(stats[1].contains("solved=121\n"), stats[1]);
+            assertTrue(server.getStatistics().getBatches() <= 121);
+        }
+    }
+
+    @Test
+    public void shouldRejectRequestsBeyondQueueCapacity() throws Exception {
+        // given
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        ModelSolver blocking = (model, listener) -> {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new UnsolvableException();
+        };
+        try (SolverServer server = SolverServer.builder().solver(blocking).workers(1).queueCapacity(2).build().start()) {
+            CompletableFuture<String[]> pending = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return exchange(server.getPort(), "/solve", EASY + "\n" + HARD + "\n");
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            entered.await();
+
+            // when
+            String[] full = exchange(server.getPort(), "/solve", EASY + "\n");
+            String[] tooLarge = exchange(server.getPort(), "/solve", EASY + "\n" + EASY + "\n" + EASY + "\n");
+            String[] invalid = exchange(server.getPort(), "/solve", EASY.substring(1) + "\n");
+            gate.countDown();
+
+            // then
+            assertEquals("503", full[0]);
+            assertEquals("413", tooLarge[0]);
+            assertEquals("400", invalid[0]);
+            assertEquals("200", pending.get()[0]);
+            assertEquals("# UNSOLVABLE\n# UNSOLVABLE\n", pending.get()[1]);
+            assertEquals(2, server.getStatistics().getRejected());
+        }
+    }
+
+    @Test
+    public void shouldRejectRequestsWithoutGrids() throws Exception {
+        // given
+        try (SolverServer server = SolverServer.builder().workers(1).build().start()) {
+            // when
+            String[] empty = exchange(server.getPort(), "/solve", "");
+            String[] comments = exchange(server.getPort(), "/solve", "# comment\n# another\n");
+            String[] valid = exchange(server.getPort(), "/solve", EASY + "\n");
+
+            // then
+            assertEquals("400", empty[0]);
+            assertEquals("# No grids\n", empty[1]);
+            assertEquals("400", comments[0]);
+            assertEquals("200", valid[0]);
+            assertEquals(1, server.getStatistics().getRequests());
+        }
+    }
+
+    @Test
+    public void shouldKeepAnsweringWhileManyRequestsAreQueued() throws Exception {
+        // given
+        CountDownLatch gate = new CountDownLatch(1);
+        ModelSolver blocking = (model, listener) -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new UnsolvableException();
+        };
+        ExecutorService clients = Executors.newFixedThreadPool(10);
+        try (SolverServer server = SolverServer.builder().solver(blocking).workers(1).queueCapacity(12).build().start()) {
+            List<Future<String[]>> pending = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                pending.add(clients.submit(() -> exchange(server.getPort(), "/solve", EASY + "\n")));
+            }
+            String[] stats = exchange(server.getPort(), "/stats", null);
+            for (long deadline = System.nanoTime() + 10_000_000_000L;
+                 !stats[1].contains("pending=10\n") && System.nanoTime() < deadline; Thread.sleep(10)) {
+                stats = exchange(server.getPort(), "/stats", null);
+            }
+
+            // when
+            String[] full = exchange(server.getPort(), "/solve", EASY + "\n" + EASY + "\n" + EASY + "\n");
+            String[] answered = exchange(server.getPort(), "/stats", null);
+            gate.countDown();
+
+            // then
+            assertTrue(stats[1].contains("pending=10\n"), stats[1]);
+            assertEquals("503", full[0]);
+            assertEquals("200", answered[0]);
+            for (Future<String[]> request : pending) {
+                assertEquals("200", request.get()[0]);
+                assertEquals("# UNSOLVABLE\n", request.get()[1]);
+            }
+            assertEquals(10, server.getStatistics().getRequests());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package sch.sudoku.solver;
+
+import org.junit.jupiter.api.Test;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BackjumpingTests {
+
+    @Test
+    public void shouldBacktrackLessThanChronologically() throws Exception {
+        // given
+        List<Object[]> states = StatesTests.getStates().map(arguments -> arguments.get()).collect(Collectors.toList());
+        long chronological = 0;
+        long jumping = 0;
+        long learning = 0;
+
+        for (Object[] state : states) {
+            // when
+            chronological += backtracks(Solver.fewestMissingFirst(), state);
+            jumping += backtracks(Solver.backjumping(), state);
+            learning += backtracks(Solver.backjumping(64), state);
+        }
+
+        // then
+        assertTrue(jumping < chronological, jumping + " < " + chronological);
+        assertTrue(learning <= jumping, learning + " <= " + jumping);
+    }
+
+    private static long backtracks(ModelSolver solver, Object[] state) {
+        Model model = Model.builder().model((Integer[]) state[1]).diagonals((Boolean) state[0]).build();
+        SolveMetrics metrics = new SolveMetrics();
+        solver.solveModel(model, metrics);
+        assertTrue(model.isSolved());
+        return metrics.getBacktracks();
+    }
+
+    @Test
+    public void shouldReportUnsolvableModel() throws Exception {
+        // given
+        Model model = Model.empty(Topology.CLASSIC);
+        for (int i = 0; i < 8; i++) {
+            model.set(i, i + 1);
+        }
+        model.set(80, 9);
+        int depth = model.getDepth();
+
+        // when / then
+        assertThrows(IllegalStateException.class, () -> Solver.backjumping(16).solveModel(model));
+        assertEquals(depth, model.getDepth());
+    }
+}
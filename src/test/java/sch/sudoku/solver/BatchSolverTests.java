@@ -0,0 +1,94 @@
+package sch.sudoku.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.provider.Arguments;
+import sch.sudoku.model.Model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(TimingExtension.class)
+public class BatchSolverTests {
+
+    private static byte[] toGrid(Integer[] state) {
+        byte[] grid = new byte[81];
+        for (int i = 0; i < 81; i++) {
+            grid[i] = (byte) (null == state[i] ? 0 : state[i]);
+        }
+        return grid;
+    }
+
+    @Test
+    public void shouldSolveInInputOrder() throws Exception {
+        // given
+        List<byte[]> grids = StatesTests.getStates()
+                .map(Arguments::get)
+                .filter(args -> !(Boolean) args[0])
+                .map(args -> toGrid((Integer[]) args[1]))
+                .collect(Collectors.toList());
+        List<byte[]> input = IntStream.range(0, 100)
+                .mapToObj(i -> grids.get(i % grids.size()))
+                .collect(Collectors.toList());
+        SolveStatistics statistics = new SolveStatistics();
+        BatchSolver batchSolver = BatchSolver.builder()
+                .executor(new ForkJoinPool(4))
+                .statistics(statistics)
+                .build();
+
+        // when
+        List<byte[]> solutions = batchSolver.solveAll(input);
+
+        // then
+        assertEquals(input.size(), solutions.size());
+        assertEquals(input.size(), statistics.getSolves());
+        assertEquals(0, statistics.getUnsolved());
+        assertTrue(statistics.getPropagations() > 0);
+        Model model = Model.builder().model(new Integer[81]).build();
+        for (int i = 0; i < input.size(); i++) {
+            model.load(solutions.get(i));
+            assertTrue(model.isSolved());
+            for (int cell = 0; cell < 81; cell++) {
+                assertTrue(0 == input.get(i)[cell] || input.get(i)[cell] == solutions.get(i)[cell]);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReportUnsolvableGridAsNull() throws Exception {
+        // given
+        byte[] grid = new byte[81];
+        grid[0] = 1;
+        grid[1] = 1;
+
+        // when
+        List<byte[]> solutions = BatchSolver.builder().build().solveAll(Collections.singletonList(grid));
+
+        // then
+        assertNull(solutions.get(0));
+    }
+
+    @Test
+    public void shouldFailBatchOnSolverError() throws Exception {
+        // given
+        ModelSolver broken = (model, listener) -> {
+            throw new IllegalStateException("The given view does not belong to this model.");
+        };
+        BatchSolver batchSolver = BatchSolver.builder().solver(broken).build();
+
+        // when
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> batchSolver.solveAll(Collections.singletonList(new byte[81])));
+
+        // then
+        assertEquals("Solving the batch failed.", failure.getMessage());
+    }
+}
@@ -0,0 +1,38 @@
+package sch.sudoku.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import sch.sudoku.model.Model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(TimingExtension.class)
+public class CachingSolverTests {
+
+    @Test
+    public void shouldAnswerSymmetricGridFromCache() throws Exception {
+        // given
+        Integer[] state = (Integer[]) StatesTests.getStates().findFirst().get().get()[1];
+        Integer[] transposed = new Integer[81];
+        for (int i = 0; i < 81; i++) {
+            Integer digit = state[9 * (i % 9) + i / 9];
+            transposed[i] = null == digit ? null : 10 - digit;
+        }
+        CachingSolver solver = CachingSolver.builder().maximumSize(10).build();
+        solver.solveModel(Model.builder().model(state).build());
+        Model model = Model.builder().model(transposed).build();
+
+        // when
+        solver.solveModel(model);
+
+        // then
+        assertTrue(model.isSolved());
+        for (int i = 0; i < 81; i++) {
+            assertTrue(null == transposed[i] || transposed[i].equals(model.get(i)));
+        }
+        assertEquals(1, solver.getStats().hitCount());
+        assertEquals(1, solver.getStats().missCount());
+        assertEquals(1, solver.getSize());
+    }
+}
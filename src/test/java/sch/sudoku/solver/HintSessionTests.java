@@ -0,0 +1,63 @@
+package sch.sudoku.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import sch.sudoku.model.Model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(TimingExtension.class)
+public class HintSessionTests {
+
+    @ParameterizedTest
+    @MethodSource("sch.sudoku.solver.StatesTests#getStates")
+    public void shouldSolveByHints(boolean diagonals, Integer[] state) throws Exception {
+        // given
+        Model model = Model.builder().model(state).diagonals(diagonals).build();
+        HintSession session = new HintSession(model);
+
+        // when
+        for (Hint hint = session.nextHint(); null != hint; hint = session.nextHint()) {
+            assertTrue(session.isConsistent(hint.getIndex(), hint.getValue()));
+            model.set(hint.getIndex(), hint.getValue());
+        }
+
+        // then
+        assertTrue(model.isSolved());
+        assertEquals(0, session.getConflicts().length);
+    }
+
+    @Test
+    public void shouldFindMistakeAndForgetItOnUndo() throws Exception {
+        // given
+        Integer[] state = (Integer[]) StatesTests.getStates().findFirst().get().get()[1];
+        Model model = Model.builder().model(state).build();
+        byte[] solution = Solutions.stream(model).findFirst().get();
+        HintSession session = new HintSession(model);
+        int index = 0;
+        while (null != state[index] || 1 == Integer.bitCount(model.getCandidates(index))) {
+            index++;
+        }
+        int wrong = Integer.numberOfTrailingZeros(model.getCandidates(index) & ~(1 << solution[index]));
+
+        // when
+        model.set(index, wrong);
+
+        // then
+        assertFalse(session.isSolvable());
+        assertNull(session.nextHint());
+        assertArrayEquals(new int[] {index}, session.getConflicts());
+        model.undo();
+        assertTrue(session.isSolvable());
+        assertTrue(session.isUnique());
+        assertEquals(0, session.getConflicts().length);
+        assertTrue(session.isConsistent(index, solution[index]));
+        assertFalse(session.isConsistent(index, wrong));
+    }
+}
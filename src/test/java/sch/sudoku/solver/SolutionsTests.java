@@ -0,0 +1,94 @@
+package sch.sudoku.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(TimingExtension.class)
+public class SolutionsTests {
+
+    @ParameterizedTest
+    @MethodSource("sch.sudoku.solver.StatesTests#getStates")
+    public void shouldFindUniqueSolution(boolean diagonals, Integer[] state) throws Exception {
+        // given
+        Model model = Model.builder().model(state).diagonals(diagonals).build();
+
+        // when
+        boolean unique = Solutions.isUnique(model);
+
+        // then
+        assertTrue(unique);
+        assertFalse(model.isSolved());
+        assertEquals(0, model.getDepth());
+    }
+
+    @Test
+    public void shouldStopCountingAtLimit() throws Exception {
+        // given
+        Model model = Model.empty(Topology.CLASSIC);
+
+        // when
+        long count = Solutions.count(model, 2);
+
+        // then
+        assertEquals(2, count);
+        assertFalse(Solutions.isUnique(model));
+    }
+
+    @Test
+    public void shouldCountNoSolution() throws Exception {
+        // given
+        Model model = Model.empty(Topology.CLASSIC);
+        model.set(0, 1);
+        model.set(1, 1);
+
+        // when
+        long count = Solutions.count(model, 2);
+
+        // then
+        assertEquals(0, count);
+        assertEquals(0, Solutions.stream(model).count());
+    }
+
+    @Test
+    public void shouldEnumerateAllSolutions() throws Exception {
+        // given
+        Model model = Model.empty(Topology.of(2, 2, false));
+
+        // when
+        long count = Solutions.count(model, Long.MAX_VALUE);
+        long streamed = Solutions.stream(model).count();
+        long distinct = Solutions.parallelStream(model).map(Arrays::toString).distinct().count();
+
+        // then
+        assertEquals(288, count);
+        assertEquals(288, streamed);
+        assertEquals(288, distinct);
+    }
+
+    @Test
+    public void shouldStreamSolvedGrids() throws Exception {
+        // given
+        Model model = Model.empty(Topology.of(3, 2, false));
+
+        // when
+        Stream<byte[]> solutions = Solutions.parallelStream(model).limit(100);
+
+        // then
+        solutions.forEach(solution -> {
+            Model solved = Model.empty(model.getTopology());
+            solved.load(solution);
+            assertTrue(solved.isSolved());
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package sch.sudoku.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(TimingExtension.class)
+public class SolveLimitsTests {
+
+    @Test
+    public void shouldSolveWithinLimits() throws Exception {
+        // given
+        Integer[] state = (Integer[]) StatesTests.getStates().findFirst().get().get()[1];
+        Model model = Model.builder().model(state).build();
+
+        // when
+        SolveResult result = Solver.propagating().solve(model, SolveLimits.builder()
+                .timeout(Duration.ofMinutes(1)).maxGuesses(1_000_000).build());
+
+        // then
+        assertEquals(SolveResult.Status.SOLVED, result.getStatus());
+        assertTrue(model.isSolved());
+        assertTrue(result.getMetrics().getPlacements() > 0);
+    }
+
+    @Test
+    public void shouldStopWhenBudgetIsExhausted() throws Exception {
+        // given
+        Integer[] state = (Integer[]) StatesTests.getStates().findFirst().get().get()[1];
+        Model model = Model.builder().model(state).build();
+
+        // when
+        SolveResult result = new Solver().solve(model, SolveLimits.builder().maxBacktracks(10).build());
+        long needed = new Solver().solve(Model.builder().model(state).build(), SolveLimits.NONE)
+                .getMetrics().getBacktracks();
+        SolveResult exact = new Solver().solve(Model.builder().model(state).build(),
+                SolveLimits.builder().maxBacktracks(needed).build());
+
+        // then
+        assertEquals(SolveResult.Status.BUDGET_EXHAUSTED, result.getStatus());
+        assertEquals(10, result.getMetrics().getBacktracks());
+        assertEquals(0, model.getDepth());
+        assertArrayEquals(state, model.getModel());
+        assertEquals(SolveResult.Status.SOLVED, exact.getStatus());
+        assertEquals(needed, exact.getMetrics().getBacktracks());
+    }
+
+    @Test
+    public void shouldReportUnsolvableModel() throws Exception {
+        // given
+        Model model = Model.empty(Topology.CLASSIC);
+        for (int i = 0; i < 8; i++) {
+            model.set(i, i + 1);
+        }
+        model.set(80, 9);
+
+        // when
+        SolveResult result = new DancingLinksSolver().solve(model, SolveLimits.NONE);
+
+        // then
+        assertEquals(SolveResult.Status.UNSOLVABLE, result.getStatus());
+        assertEquals(9, model.getDepth());
+    }
+
+    @Test
+    public void shouldPropagateFailuresOtherThanUnsolvable() throws Exception {
+        // given
+        Model model = Model.empty(Topology.CLASSIC);
+        ModelSolver broken = (solved, listener) -> {
+            throw new IllegalStateException("The command stack is empty.");
+        };
+
+        // when / then
+        assertThrows(IllegalStateException.class, () -> broken.solve(model, SolveLimits.NONE));
+    }
+
+    @Test
+    public void shouldStopAtDeadlineOrCancellation() throws Exception {
+        // given
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        // when
+        SolveResult cancelled = ParallelSolver.builder().build().solve(Model.empty(Topology.CLASSIC),
+                SolveLimits.builder().cancellation(token).build());
+        SolveResult late = Solver.propagating().solve(Model.empty(Topology.CLASSIC),
+                SolveLimits.builder().timeout(Duration.ZERO).build());
+
+        // then
+        assertEquals(SolveResult.Status.CANCELLED, cancelled.getStatus());
+        assertEquals(SolveResult.Status.DEADLINE_EXCEEDED, late.getStatus());
+    }
+}
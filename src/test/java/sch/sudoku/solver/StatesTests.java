@@ -5,7 +5,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
 
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -105,5 +107,62 @@ public class StatesTests {
         System.out.println(model);
     }
 
+    protected static Stream<Arguments> getSolversAndStates() {
+        return Stream.<Supplier<ModelSolver>>of(
+                Solver::propagating,
+                Solver::fewestMissingFirst,
+                Solver::fewestCandidatesFirst,
+                Solver::backjumping,
+                () -> Solver.backjumping(64),
+                DancingLinksSolver::new,
+                () -> ParallelSolver.builder().splitDepth(2).build()
+        ).flatMap(solver -> getStates().map(Arguments::get).map(args -> () -> new Object[] {
+                solver.get(), args[0], args[1]
+        }));
+    }
+
+    @ParameterizedTest
+    @MethodSource("getSolversAndStates")
+    public void shouldSolveWith(ModelSolver solver, boolean diagonals, Integer[] state) throws Exception {
+        // given
+        Model model = Model.builder().model(state).diagonals(diagonals).build();
+
+        SolveMetrics metrics = new SolveMetrics();
+
+        // when
+        solver.solveModel(model, metrics);
+
+        // then
+        assertTrue(model.isSolved());
+        assertTrue(metrics.isSolved());
+    }
 
+
+    protected static Stream<Arguments> getSolversAndBoards() {
+        return Stream.<Supplier<ModelSolver>>of(
+                Solver::propagating,
+                DancingLinksSolver::new
+        ).flatMap(solver -> Stream.of(
+                Arguments.of(solver.get(), 2, 2, false),
+                Arguments.of(solver.get(), 2, 2, true),
+                Arguments.of(solver.get(), 3, 2, false),
+                Arguments.of(solver.get(), 2, 3, false),
+                Arguments.of(solver.get(), 4, 4, false),
+                Arguments.of(solver.get(), 5, 5, false)
+        ));
+    }
+
+    @ParameterizedTest
+    @MethodSource("getSolversAndBoards")
+    public void shouldSolveEmptyBoard(ModelSolver solver, int blockWidth, int blockHeight, boolean diagonals)
+            throws Exception {
+        // given
+        Model model = Model.empty(Topology.of(blockWidth, blockHeight, diagonals));
+
+        // when
+        solver.solveModel(model);
+
+        // then
+        assertTrue(model.isSolved());
+    }
 }
@@ -0,0 +1,106 @@
+package sch.sudoku.solver;
+
+import org.junit.jupiter.api.Test;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TranspositionTableTests {
+
+    @Test
+    public void shouldHashGridsIndependentOfPlacementOrder() throws Exception {
+        // given
+        Model model = Model.empty(Topology.CLASSIC);
+        Model other = Model.empty(Topology.CLASSIC);
+        long empty = model.getHash();
+
+        // when
+        model.set(0, 1);
+        model.set(40, 5);
+        other.set(40, 5);
+        other.set(0, 1);
+        byte[] cells = new byte[81];
+        model.copyTo(cells);
+        Model loaded = Model.empty(Topology.CLASSIC);
+        loaded.load(cells);
+
+        // then
+        assertEquals(model.getHash(), other.getHash());
+        assertEquals(model.getHash(), loaded.getHash());
+        assertNotEquals(empty, model.getHash());
+        model.rollback(0);
+        assertEquals(empty, model.getHash());
+    }
+
+    @Test
+    public void shouldReplaceCheapestEntryOfFullBucket() throws Exception {
+        // given
+        TranspositionTable table = TranspositionTable.builder().maxBytes(TranspositionTable.MIN_BYTES).build();
+        long[] hashes = new long[5];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = (long) (i + 1) << 40 | 7;
+        }
+
+        // when
+        table.recordFailure(hashes[0], 1000);
+        table.recordFailure(hashes[1], 1);
+        table.recordFailure(hashes[2], 1000);
+        table.recordFailure(hashes[3], 1000);
+        table.recordFailure(hashes[4], 10);
+
+        // then
+        assertEquals(1024, table.getCapacity());
+        assertTrue(table.isFailed(hashes[0]));
+        assertFalse(table.isFailed(hashes[1]));
+        assertTrue(table.isFailed(hashes[4]));
+        assertFalse(table.isFailed(6L << 40 | 7));
+        assertEquals(1, table.getEvictions());
+        assertEquals(0.5, table.getHitRate());
+        assertThrows(IllegalArgumentException.class,
+                () -> TranspositionTable.builder().maxBytes(TranspositionTable.MIN_BYTES - 1).build());
+    }
+
+    @Test
+    public void shouldPruneDeadEndsOfEarlierSolves() throws Exception {
+        // given
+        List<Object[]> states = StatesTests.getStates().map(arguments -> arguments.get()).collect(Collectors.toList());
+        TranspositionTable table = TranspositionTable.builder().maxBytes(1 << 20).build();
+        Solver solver = Solver.propagating(table);
+
+        for (Object[] state : states) {
+            // when
+            Model plain = solve(Solver.propagating(), state);
+            long first = guesses(solver, state);
+            long second = guesses(solver, state);
+
+            // then
+            assertArrayEquals(plain.getModel(), solve(solver, state).getModel());
+            assertTrue(second <= first, second + " <= " + first);
+        }
+        assertTrue(table.getHits() > 0);
+    }
+
+    private static Model solve(ModelSolver solver, Object[] state) {
+        Model model = Model.builder().model((Integer[]) state[1]).diagonals((Boolean) state[0]).build();
+        solver.solveModel(model, SolverListener.NONE);
+        assertTrue(model.isSolved());
+        return model;
+    }
+
+    private static long guesses(ModelSolver solver, Object[] state) {
+        Model model = Model.builder().model((Integer[]) state[1]).diagonals((Boolean) state[0]).build();
+        SolveMetrics metrics = new SolveMetrics();
+        solver.solveModel(model, metrics);
+        assertTrue(model.isSolved());
+        return metrics.getGuesses();
+    }
+}
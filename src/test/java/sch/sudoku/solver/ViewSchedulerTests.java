@@ -0,0 +1,56 @@
+package sch.sudoku.solver;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import sch.sudoku.model.Constraints;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.ModelListener;
+import sch.sudoku.model.Topology;
+import sch.sudoku.model.View;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ViewSchedulerTests {
+
+    protected static Stream<Arguments> getKeys() {
+        Topology antiKnight = Topology.CLASSIC.with(Constraints.builder().antiKnight().antiKing().build());
+        return Stream.of(Topology.DIAGONALS, antiKnight).flatMap(topology -> Stream.of(ViewScheduler.Key.values())
+                .map(key -> () -> new Object[] {key, topology}));
+    }
+
+    @ParameterizedTest
+    @MethodSource("getKeys")
+    public void shouldKeepMostConstrainedViewFirst(ViewScheduler.Key key, Topology topology) throws Exception {
+        // given
+        Model model = Model.empty(topology);
+        ViewScheduler scheduler = new ViewScheduler(model, key, ModelListener.NONE);
+        model.setListener(scheduler);
+        ToIntFunction<View> keyOf = ViewScheduler.Key.EMPTY_CELLS == key
+                ? View::countMissingValues
+                : view -> view.getMissingValues().stream()
+                        .mapToInt(value -> Integer.bitCount(model.getCandidates(view.getModelIndex(value.getIndex()))))
+                        .sum();
+        Comparator<View> order = Comparator.comparingInt(keyOf).thenComparingInt(View::getUnitIndex);
+        Random random = new Random(7);
+
+        for (int step = 0; step < 2_000; step++) {
+            // when
+            int index = random.nextInt(model.getCellCount());
+            if (model.canUndo() && (0 != model.getDigit(index) || random.nextInt(3) == 0)) {
+                model.undo();
+            } else if (0 == model.getDigit(index)) {
+                model.set(index, 1 + random.nextInt(model.getSize()));
+            }
+
+            // then
+            View expected = model.getViews().stream().filter(View::hasMissingValues).min(order).orElse(null);
+            assertSame(expected, scheduler.peek());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package sch.sudoku.solver.technique;
+
+import org.junit.jupiter.api.Test;
+import sch.sudoku.generator.Generator;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+import sch.sudoku.solver.Solutions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GraderTests {
+
+    @Test
+    public void shouldKeepSolutionWhileGrading() throws Exception {
+        // given
+        Grader grader = Grader.standard();
+        int advanced = 0;
+
+        for (boolean diagonals : new boolean[] {false, true}) {
+            Model model = Model.empty(Topology.of(diagonals));
+            for (byte[] puzzle : Generator.builder().seed(11).diagonals(diagonals).build().generate(25)) {
+                model.load(puzzle);
+                byte[] solution = Solutions.stream(model).findFirst().get();
+                Candidates candidates = Candidates.of(model);
+
+                // when
+                Grade grade = grader.grade(candidates);
+
+                // then
+                for (int cell = 0; cell < solution.length; cell++) {
+                    assertTrue(candidates.getDigit(cell) == solution[cell]
+                            || 0 == candidates.getDigit(cell) && 0 != (candidates.getMask(cell) & 1 << solution[cell]));
+                }
+                assertEquals(grade.isSolved(), candidates.isSolved());
+                assertEquals(grade.getTrace().stream().mapToInt(step -> step.getTechnique().getWeight()).sum(),
+                        grade.getScore());
+                advanced += grade.getHardest().getWeight() > StandardTechnique.NAKED_SINGLE.getWeight() ? 1 : 0;
+            }
+        }
+        assertTrue(advanced > 0);
+    }
+
+    @Test
+    public void shouldFindXWing() throws Exception {
+        // given
+        Candidates candidates = Candidates.of(Model.empty(Topology.CLASSIC));
+        for (int row : new int[] {0, 4}) {
+            for (int column = 0; column < 9; column++) {
+                if (2 != column && 6 != column) {
+                    candidates.eliminate(row * 9 + column, 1 << 1);
+                }
+            }
+        }
+
+        // when
+        int changes = StandardTechnique.X_WING.apply(candidates);
+
+        // then
+        assertEquals(14, changes);
+        assertEquals(0, candidates.getPositions(Topology.CLASSIC.getColumnUnit(2), 1) & ~(1 | 1 << 4));
+        assertEquals(0, StandardTechnique.X_WING.apply(candidates));
+    }
+
+    @Test
+    public void shouldPointAlongDiagonal() throws Exception {
+        // given
+        Topology topology = Topology.DIAGONALS;
+        Candidates candidates = Candidates.of(Model.empty(topology));
+        for (int i = 0; i < 9; i++) {
+            int cell = topology.getCell(topology.getBlockUnit(0), i);
+            if (topology.getViewIndex(topology.getDiagonalUnit(), cell) < 0) {
+                candidates.eliminate(cell, 1 << 1);
+            }
+        }
+
+        // when
+        int changes = StandardTechnique.POINTING.apply(candidates);
+
+        // then
+        assertEquals(6, changes);
+        assertEquals(0b111, candidates.getPositions(topology.getDiagonalUnit(), 1));
+    }
+}
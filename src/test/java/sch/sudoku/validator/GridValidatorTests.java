@@ -0,0 +1,52 @@
+package sch.sudoku.validator;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import sch.sudoku.model.Model;
+import sch.sudoku.model.Topology;
+import sch.sudoku.solver.Solutions;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GridValidatorTests {
+
+    protected static Stream<Arguments> getValidators() {
+        return Stream.of(Topology.CLASSIC, Topology.DIAGONALS, Topology.of(4, 4, false))
+                .flatMap(topology -> Stream.of(GridValidator.scalar(topology), GridValidator.of(topology)))
+                .map(validator -> () -> new Object[] {validator});
+    }
+
+    @ParameterizedTest
+    @MethodSource("getValidators")
+    public void shouldReportFirstInvalidUnit(GridValidator validator) throws Exception {
+        // given
+        Topology topology = validator.getTopology();
+        int cells = topology.getCellCount();
+        byte[] solution = Solutions.stream(Model.empty(topology)).findFirst().get();
+        byte[] grids = new byte[5 * cells];
+        for (int i = 0; i < 5; i++) {
+            System.arraycopy(solution, 0, grids, i * cells, cells);
+        }
+        int last = cells - 1;
+        grids[cells + last] = 0;
+        byte swapped = grids[2 * cells];
+        grids[2 * cells] = grids[2 * cells + 1];
+        grids[2 * cells + 1] = swapped;
+        grids[3 * cells + last] = (byte) (topology.getSize() + 1);
+        grids[4 * cells + last] = -1;
+        int[] units = new int[5];
+
+        // when
+        int valid = validator.validate(grids, 5, units);
+
+        // then
+        int lastRow = topology.getRowUnit(topology.getSize() - 1);
+        assertEquals(1, valid);
+        assertArrayEquals(new int[] {-1, lastRow, topology.getColumnUnit(0), lastRow, lastRow}, units);
+        assertEquals(-1, validator.firstInvalidUnit(solution));
+    }
+}
@@ -0,0 +1,93 @@
+package sch.sudoku.validator;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import sch.sudoku.model.Topology;
+
+/**
+ * The Vector API variant of {@link ScalarGridValidator}. The digit bits of a grid are computed a vector of cells at
+ * a time, then the lanes run over units: for each view index one gather ORs in the bit of that cell of every unit,
+ * so all rows, columns, blocks and diagonals are accumulated side by side. Lanes past the last unit read a cell
+ * that holds all digits and always pass.
+ * <p>
+ * Built from {@code src/vector} with a JDK 17+ and only loaded by {@link GridValidator#of(Topology)} when the JVM
+ * runs with {@code --add-modules jdk.incubator.vector}.
+ */
+final class VectorGridValidator extends GridValidator {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final int PARTS = BYTES.length() / INTS.length();
+
+    private final int size;
+    private final int allDigits;
+    private final int paddedUnits;
+    private final int[] gather;
+
+    VectorGridValidator(Topology topology) {
+        super(topology);
+        size = topology.getSize();
+        allDigits = topology.getAllDigits();
+        paddedUnits = INTS.loopBound(topology.getUnitCount() + INTS.length() - 1);
+        int[] unitCells = unitCells();
+        gather = new int[size * paddedUnits];
+        for (int i = 0; i < size; i++) {
+            for (int unit = 0; unit < paddedUnits; unit++) {
+                gather[i * paddedUnits + unit] = unit < topology.getUnitCount()
+                        ? unitCells[unit * size + i]
+                        : topology.getCellCount();
+            }
+        }
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    protected int validate(byte[] grids, int count, int[] units, int cells) {
+        int[] bits = new int[cells + 1];
+        bits[cells] = allDigits;
+        int valid = 0;
+        for (int grid = 0, offset = 0; grid < count; grid++, offset += cells) {
+            loadBits(grids, offset, bits, cells);
+            units[grid] = firstInvalidUnit(bits);
+            valid += units[grid] >>> 31;
+        }
+        return valid;
+    }
+
+    /**
+     * Maps each cell to its digit bit; empty cells give bit {@code 0} and values out of range bit {@code size + 1}.
+     * A vector of bytes is loaded at once and widened to ints part by part, as the preferred shape of both holds four
+     * times as many bytes as ints.
+     */
+    private void loadBits(byte[] grids, int offset, int[] bits, int cells) {
+        IntVector one = IntVector.broadcast(INTS, 1);
+        for (int i = 0; i < cells; i += BYTES.length()) {
+            ByteVector bytes = ByteVector.fromArray(BYTES, grids, offset + i, BYTES.indexInRange(i, cells));
+            for (int part = 0, first = i; part < PARTS && first < cells; part++, first += INTS.length()) {
+                IntVector digits = (IntVector) bytes.convertShape(VectorOperators.B2I, INTS, part);
+                digits = digits.and(0xFF).min(size + 1);
+                one.lanewise(VectorOperators.LSHL, digits).intoArray(bits, first, INTS.indexInRange(first, cells));
+            }
+        }
+    }
+
+    private int firstInvalidUnit(int[] bits) {
+        for (int first = 0; first < paddedUnits; first += INTS.length()) {
+            IntVector mask = IntVector.zero(INTS);
+            for (int i = 0; i < size; i++) {
+                mask = mask.or(IntVector.fromArray(INTS, bits, 0, gather, i * paddedUnits + first));
+            }
+            VectorMask<Integer> invalid = mask.compare(VectorOperators.NE, allDigits);
+            if (invalid.anyTrue()) {
+                return first + invalid.firstTrue();
+            }
+        }
+        return -1;
+    }
+}